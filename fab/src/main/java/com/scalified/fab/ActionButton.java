@@ -16,10 +16,11 @@
 
 package com.scalified.fab;
 
+import android.animation.ObjectAnimator;
+import android.animation.StateListAnimator;
 import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
@@ -28,9 +29,11 @@ import android.graphics.Paint;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.ViewOutlineProvider;
 import android.view.animation.Animation;
@@ -43,9 +46,6 @@ import com.scalified.viewmover.configuration.MovingParams;
 import com.scalified.viewmover.movers.ViewMover;
 import com.scalified.viewmover.movers.ViewMoverFactory;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * This class represents a <b>Action Button</b>, which is used in 
  * <a href="http://www.google.com.ua/design/spec/components/buttons.html">Material Design</a>
@@ -59,7 +59,51 @@ public class ActionButton extends View {
 	/**
 	 * Logger
 	 */
-	private static final Logger LOGGER = LoggerFactory.getLogger(ActionButton.class);
+	private static final Logger LOGGER = Logger.getLogger(ActionButton.class);
+
+	/**
+	 * The factor, which the elevation is multiplied by to get the additional
+	 * {@code translationZ} while in the {@link State#PRESSED} state, if
+	 * Shadow Responsive Effect enabled
+	 */
+	private static final float ELEVATION_RESPONSE_FACTOR = 0.75f;
+
+	/**
+	 * Duration of the {@code translationZ} animation in milliseconds
+	 */
+	private static final long ELEVATION_ANIMATION_DURATION_MS = 100;
+
+	/**
+	 * Number of frames, which the frame metrics are accumulated over before
+	 * being reported
+	 */
+	private static final int FRAME_METRICS_BATCH_SIZE = 60;
+
+	/**
+	 * Property change, which requires the view to be invalidated
+	 */
+	private static final int CHANGE_PAINT = 1;
+
+	/**
+	 * Property change, which requires the layout of the view to be invalidated
+	 */
+	private static final int CHANGE_LAYOUT = 1 << 1;
+
+	/**
+	 * Property change, which requires the shadow to be prepared again
+	 */
+	private static final int CHANGE_SHADOW = 1 << 2;
+
+	/**
+	 * Property change, which requires the layer type to be reinitialized
+	 */
+	private static final int CHANGE_LAYER_TYPE = 1 << 3;
+
+	/**
+	 * Property change, which requires the layout of the view to be invalidated
+	 * even if the fixed footprint is reserved
+	 */
+	private static final int CHANGE_FOOTPRINT = 1 << 4;
 
 	/**
 	 * <b>Action Button</b> type
@@ -96,6 +140,20 @@ public class ActionButton extends View {
 	 */
 	private int buttonColorRipple = darkenButtonColorPressed();
 
+	/**
+	 * Maximum number of the Ripple Effect ripples, which are drawn at the same time
+	 */
+	private int rippleEffectMaxCount = 3;
+
+	/**
+	 * Determines whether the platform Ripple Effect enabled
+	 * <p>
+	 * Platform Ripple Effect means that the ripple is drawn with the platform
+	 * {@link android.graphics.drawable.RippleDrawable}, which is animated on the
+	 * RenderThread. Used if target API is {@code LOLLIPOP (21)} and higher only
+	 */
+	private boolean platformRippleEffectEnabled;
+
 	/**
 	 * Shadow radius expressed in actual pixels
 	 */
@@ -124,6 +182,19 @@ public class ActionButton extends View {
 	 */
 	private boolean shadowResponsiveEffectEnabled = true;
 
+	/**
+	 * Determines whether hardware rendering enabled
+	 * <p>
+	 * Hardware rendering means that shadow is drawn from the pre-blurred mask
+	 * instead of the shadow layer, so that the software layer is not needed
+	 */
+	private boolean hardwareRenderingEnabled;
+
+	/**
+	 * Renderer, which is used for drawing the shadow
+	 */
+	private ShadowRenderer shadowRenderer = ShadowRenderer.BLUR;
+
 	/**
 	 * Stroke width 
 	 */
@@ -144,6 +215,12 @@ public class ActionButton extends View {
 	 */
 	private float imageSize = dpToPx(24.0f);
 
+	/**
+	 * <b>Action Button</b> fixed footprint in actual pixels (px), which is reserved
+	 * for the entire view, or 0 if the footprint is calculated from the content
+	 */
+	private float fixedFootprint;
+
 	/**
 	 * Animation, which is used while showing <b>Action Button</b>
 	 */
@@ -162,27 +239,135 @@ public class ActionButton extends View {
 	 */
 	private TouchPoint touchPoint = new TouchPoint(0.0f, 0.0f);
 
+	/**
+	 * A tracker, which reports only the real transitions of the gesture
+	 * started inside the main circle
+	 */
+	private final TouchTracker touchTracker =
+			new TouchTracker(ViewConfiguration.get(getContext()).getScaledTouchSlop());
+
+	/**
+	 * X-axis center coordinate of the entire view, which is calculated
+	 * once the view is measured
+	 */
+	private float centerX;
+
+	/**
+	 * Y-axis center coordinate of the entire view, which is calculated
+	 * once the view is measured
+	 */
+	private float centerY;
+
 	/**
 	 * {@link android.graphics.Paint}, which is used for drawing the elements of
 	 * <b>Action Button</b>
 	 */
 	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
 
+	/**
+	 * A tracker, which accounts the frames and the wakeups caused by the <b>Action Button</b>
+	 */
+	private final WakeupTracker wakeupTracker = new WakeupTracker(this);
+
 	/**
 	 * A view invalidator, which is used to invalidate the <b>Action Button</b>
 	 */
-	private final ViewInvalidator invalidator = new ViewInvalidator(this);
+	private final ViewInvalidator invalidator = new ViewInvalidator(this, wakeupTracker);
+
+	/**
+	 * A cache of the static circle, stroke and image layers
+	 */
+	private final StaticLayerCache staticLayerCache = new StaticLayerCache(this);
+
+	/**
+	 * Outline provider, which is used while elevation enabled
+	 */
+	private ViewOutlineProvider elevationOutlineProvider;
+
+	/**
+	 * Listener, which receives the frame metrics, or null if the frame metrics
+	 * are not collected
+	 */
+	private FrameMetrics.Listener frameMetricsListener;
+
+	/**
+	 * Frame metrics of the current batch
+	 */
+	private final FrameMetrics frameMetrics = new FrameMetrics();
+
+	/**
+	 * Determines whether the Shadow Responsive Effect frame was drawn
+	 * within the current frame
+	 */
+	private boolean shadowResponseFrame;
+
+	/**
+	 * Determines whether the unbuffered input dispatch is requested
+	 * for the gestures started inside the main circle
+	 */
+	private boolean lowLatencyEnabled;
+
+	/**
+	 * Listener, which receives the touch-to-draw latency, or null if the latency
+	 * is not measured
+	 */
+	private TouchLatencyListener touchLatencyListener;
+
+	/**
+	 * Time of the press, which is not drawn yet, in milliseconds, or -1 if none
+	 */
+	private long pendingPressTime = -1L;
+
+	/**
+	 * Snapshot of the attributes, which the <b>Action Button</b> was inflated with,
+	 * or null if the <b>Action Button</b> was created programmatically
+	 */
+	private ActionButtonStyle style;
+
+	/**
+	 * Determines whether the property is being changed by {@link Editor#apply()},
+	 * so that the change is accumulated instead of being applied immediately
+	 */
+	private boolean batching;
+
+	/**
+	 * Property changes, which are not applied yet
+	 */
+	private int pendingChanges;
+
+	/**
+	 * Editor, which is returned by {@link #edit()}
+	 */
+	private final Editor editor = new Editor();
 
 	/**
 	 * A drawer, which is used for drawing the <b>Action Button</b> Ripple Effect
 	 */
 	protected final EffectDrawer rippleEffectDrawer = new RippleEffectDrawer(this);
 
+	/**
+	 * A drawer, which is used for drawing the <b>Action Button</b> Ripple Effect
+	 * while the platform Ripple Effect used
+	 */
+	protected final EffectDrawer platformRippleDrawer = new PlatformRippleDrawer(this);
+
 	/**
 	 * A drawer, which is used for drawing the <b>Action Button</b> Shadow Responsive Effect
 	 */
 	protected final EffectDrawer shadowResponsiveDrawer = new ShadowResponsiveDrawer(this);
 
+	/**
+	 * A drawer, which is used for drawing the <b>Action Button</b> shadow
+	 * while hardware rendering enabled
+	 */
+	protected final EffectDrawer shadowBitmapDrawer = new ShadowBitmapDrawer(this);
+
+	/**
+	 * A drawer, which is used for drawing the <b>Action Button</b> shadow
+	 * while {@link ShadowRenderer#GRADIENT} renderer used
+	 */
+	protected final EffectDrawer shadowGradientDrawer = new ShadowGradientDrawer(this);
+
 	/**
 	 * A view mover, which is used to move the <b>Action Button</b>
 	 */
@@ -263,6 +448,7 @@ public class ActionButton extends View {
 	 */
 	private void initActionButton() {
 		initLayerType();
+		initElevation();
 		LOGGER.trace("Initialized the Action Button");
 	}
 
@@ -272,6 +458,9 @@ public class ActionButton extends View {
 	 * Makes calls to different initialization methods for parameters initialization.
 	 * For those parameters, which are not declared in the XML resource, 
 	 * the default value will be used 
+	 * <p>
+	 * Attributes are resolved through the {@link StyleCache}, so that the identical
+	 * <b>Action Buttons</b> share the single snapshot of the resolved attributes
 	 *
 	 * @param context context the view is running in
 	 * @param attrs attributes of the XML tag that is inflating the view
@@ -284,59 +473,123 @@ public class ActionButton extends View {
 	 *        to not look for defaults
 	 */
 	private void initActionButtonAttrs(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
-		TypedArray attributes = context.getTheme().obtainStyledAttributes(attrs, R.styleable.ActionButton,
-				defStyleAttr, defStyleRes);
+		boolean traced = Tracing.beginSection("ActionButton#initActionButtonAttrs");
 		try {
-			initType(attributes);
-			initSize(attributes);
-			initButtonColor(attributes);
-			initButtonColorPressed(attributes);
-			initRippleEffectEnabled(attributes);
-			initButtonColorRipple(attributes);
-			initShadowRadius(attributes);
-			initShadowXOffset(attributes);
-			initShadowYOffset(attributes);
-			initShadowColor(attributes);
-			initShadowResponsiveEffectEnabled(attributes);
-			initStrokeWidth(attributes);
-			initStrokeColor(attributes);
-			initImage(attributes);
-			initImageSize(attributes);
-			initShowAnimation(attributes);
-			initHideAnimation(attributes);
+			style = StyleCache.resolve(context, attrs, defStyleAttr, defStyleRes);
+			initType(style);
+			initSize(style);
+			initButtonColor(style);
+			initButtonColorPressed(style);
+			initRippleEffectEnabled(style);
+			initButtonColorRipple(style);
+			initRippleEffectMaxCount(style);
+			initPlatformRippleEffectEnabled(style);
+			initShadowRadius(style);
+			initShadowXOffset(style);
+			initShadowYOffset(style);
+			initShadowColor(style);
+			initShadowResponsiveEffectEnabled(style);
+			initHardwareRenderingEnabled(style);
+			initShadowRenderer(style);
+			initStrokeWidth(style);
+			initStrokeColor(style);
+			initImage(style);
+			initImageSize(style);
+			initFixedFootprint(style);
+			initShowAnimation(style);
+			initHideAnimation(style);
+			initLayerType();
+			initElevation();
+			LOGGER.trace("Successfully initialized the Action Button attributes");
 		} catch (Exception e) {
 			LOGGER.trace("Failed to read attribute", e);
 		} finally {
-			attributes.recycle();
+			Tracing.endSection(traced);
 		}
-		LOGGER.trace("Successfully initialized the Action Button attributes");
+	}
+
+	/**
+	 * Returns the snapshot of the attributes, which the <b>Action Button</b>
+	 * was inflated with
+	 *
+	 * @return snapshot of the attributes or null if the <b>Action Button</b>
+	 *         was created programmatically
+	 */
+	ActionButtonStyle getStyle() {
+		return style;
 	}
 
 	/**
 	 * Initializes the layer type needed for shadows drawing
 	 * <p>
+	 * Software layer is used only if the shadow is drawn with the shadow layer,
+	 * which is not supported by the hardware canvas. The platform Ripple Effect is
+	 * animated on the RenderThread, which doesn't draw the software layers, so that
+	 * the shadow is drawn from the pre-blurred mask instead of the shadow layer in
+	 * this case
+	 * <p>
 	 * Might be called if target API is {@code HONEYCOMB (11)} and higher
 	 */
 	@TargetApi(Build.VERSION_CODES.HONEYCOMB)
 	private void initLayerType() {
 		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-			setLayerType(LAYER_TYPE_SOFTWARE, getPaint());
+			setLayerType(isShadowLayerUsed() ? LAYER_TYPE_SOFTWARE : LAYER_TYPE_NONE, getPaint());
 			LOGGER.trace("Initialized the layer type");
 		}
 	}
 
+	/**
+	 * Initializes the elevation rendering if elevation enabled
+	 * <p>
+	 * Configures the outline once and expresses the Shadow Responsive Effect as the
+	 * {@code translationZ} animation, which is run by the {@link android.animation.StateListAnimator},
+	 * so that nothing is done on each frame. Removes the animation once elevation disabled
+	 * <p>
+	 * Might be called if target API is {@code LOLLIPOP (21)} and higher
+	 */
+	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+	private void initElevation() {
+		if (hasElevation()) {
+			drawElevation();
+			setStateListAnimator(isShadowResponsiveEffectEnabled() ? createElevationAnimator() : null);
+			LOGGER.trace("Initialized the Action Button elevation");
+		} else if (elevationOutlineProvider != null) {
+			setStateListAnimator(null);
+			setTranslationZ(0.0f);
+			LOGGER.trace("Removed the Action Button elevation animation");
+		}
+	}
+
+	/**
+	 * Creates the animator, which raises the <b>Action Button</b> while in
+	 * the {@link State#PRESSED} state
+	 *
+	 * @return animator, which raises the <b>Action Button</b> while pressed
+	 */
+	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+	private StateListAnimator createElevationAnimator() {
+		StateListAnimator animator = new StateListAnimator();
+		animator.addState(new int[]{android.R.attr.state_pressed},
+				ObjectAnimator.ofFloat(this, "translationZ", getElevation() * ELEVATION_RESPONSE_FACTOR)
+						.setDuration(ELEVATION_ANIMATION_DURATION_MS));
+		animator.addState(new int[0],
+				ObjectAnimator.ofFloat(this, "translationZ", 0.0f)
+						.setDuration(ELEVATION_ANIMATION_DURATION_MS));
+		return animator;
+	}
+
 	/**
 	 * Initializes the {@link Type} of <b>Action Button</b>
 	 * <p>
-	 * Must be called before {@link #initSize(TypedArray)} for the proper
+	 * Must be called before {@link #initSize(ActionButtonStyle)} for the proper
 	 * <b>Action Button</b> {@link #size} initialization
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initType(TypedArray attrs) {
+	private void initType(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_type;
-		if (attrs.hasValue(index)) {
-			int id = attrs.getInteger(index, type.getId());
+		if (style.has(index)) {
+			int id = style.getInt(index, type.getId());
 			type = Type.forId(id);
 			LOGGER.trace("Initialized Action Button type: {}", getType());
 		}
@@ -345,15 +598,15 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the {@link #size} of <b>Action Button</b>
 	 * <p>
-	 * Must be called after {@link #initType(TypedArray)} for the proper
+	 * Must be called after {@link #initType(ActionButtonStyle)} for the proper
 	 * <b>Action Button</b> {@link #size} initialization
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initSize(TypedArray attrs) {
+	private void initSize(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_size;
-		if (attrs.hasValue(index)) {
-			this.size = attrs.getDimension(index, size);
+		if (style.has(index)) {
+			this.size = style.getDimension(index, size);
 		} else {
 			this.size = dpToPx(type.getSize());
 		}
@@ -364,12 +617,12 @@ public class ActionButton extends View {
 	 * Initializes the <b>Action Button</b> color for the {@link State#NORMAL}
 	 * {@link #state}
 	 *  
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initButtonColor(TypedArray attrs) {
+	private void initButtonColor(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_button_color;
-		if (attrs.hasValue(index)) {
-			buttonColor = attrs.getColor(index, buttonColor);
+		if (style.has(index)) {
+			buttonColor = style.getInt(index, buttonColor);
 			LOGGER.trace("Initialized Action Button color: {}", getButtonColor());
 		}
 	}
@@ -380,15 +633,15 @@ public class ActionButton extends View {
 	 * <p>
 	 * Initialized the <b>Action Button</b> default Ripple Effect color
 	 * <p>
-	 * Must be called before {@link #initButtonColorRipple(TypedArray)} for proper
+	 * Must be called before {@link #initButtonColorRipple(ActionButtonStyle)} for proper
 	 * {@link #buttonColorRipple} initialization
 	 * 
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initButtonColorPressed(TypedArray attrs) {
+	private void initButtonColorPressed(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_button_colorPressed;
-		if (attrs.hasValue(index)) {
-			buttonColorPressed = attrs.getColor(index, buttonColorPressed);
+		if (style.has(index)) {
+			buttonColorPressed = style.getInt(index, buttonColorPressed);
 			buttonColorRipple = darkenButtonColorPressed();
 			LOGGER.trace("Initialized Action Button color pressed: {}", getButtonColorPressed());
 		}
@@ -397,12 +650,12 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the <b>Action Button</b> Ripple Effect state
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initRippleEffectEnabled(TypedArray attrs) {
+	private void initRippleEffectEnabled(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_rippleEffect_enabled;
-		if (attrs.hasValue(index)) {
-			rippleEffectEnabled = attrs.getBoolean(index, rippleEffectEnabled);
+		if (style.has(index)) {
+			rippleEffectEnabled = style.getBoolean(index, rippleEffectEnabled);
 			LOGGER.trace("Initialized Action Button Ripple Effect enabled: {}", isRippleEffectEnabled());
 		}
 	}
@@ -410,28 +663,56 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the <b>Action Button</b> Ripple Effect color
 	 * <p>
-	 * Must be called after {@link #initButtonColorPressed(TypedArray)} for proper
+	 * Must be called after {@link #initButtonColorPressed(ActionButtonStyle)} for proper
 	 * {@link #buttonColorRipple} initialization
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initButtonColorRipple(TypedArray attrs) {
+	private void initButtonColorRipple(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_button_colorRipple;
-		if (attrs.hasValue(index)) {
-			buttonColorRipple = attrs.getColor(index, buttonColorRipple);
+		if (style.has(index)) {
+			buttonColorRipple = style.getInt(index, buttonColorRipple);
 			LOGGER.trace("Initialized Action Button Ripple Effect color: {}", getButtonColorRipple());
 		}
 	}
 
+	/**
+	 * Initializes the maximum number of the Ripple Effect ripples
+	 *
+	 * @param style snapshot of the resolved attributes
+	 */
+	private void initRippleEffectMaxCount(ActionButtonStyle style) {
+		int index = R.styleable.ActionButton_rippleEffect_maxCount;
+		if (style.has(index)) {
+			rippleEffectMaxCount = Math.max(1, style.getInt(index, rippleEffectMaxCount));
+			((RippleEffectDrawer) rippleEffectDrawer).setMaxCount(rippleEffectMaxCount);
+			LOGGER.trace("Initialized Action Button Ripple Effect max count: {}", getRippleEffectMaxCount());
+		}
+	}
+
+	/**
+	 * Initializes the platform Ripple Effect
+	 *
+	 * @param style snapshot of the resolved attributes
+	 */
+	private void initPlatformRippleEffectEnabled(ActionButtonStyle style) {
+		int index = R.styleable.ActionButton_platformRippleEffect_enabled;
+		if (style.has(index)) {
+			platformRippleEffectEnabled = style.getBoolean(index, platformRippleEffectEnabled);
+			LOGGER.trace("Initialized Action Button platform Ripple Effect enabled: {}",
+					isPlatformRippleEffectEnabled());
+		}
+	}
+
 	/**
 	 * Initializes the shadow radius
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShadowRadius(TypedArray attrs) {
+	private void initShadowRadius(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_shadow_radius;
-		if (attrs.hasValue(index)) {
-			shadowRadius = attrs.getDimension(index, shadowRadius);
+		if (style.has(index)) {
+			shadowRadius = style.getDimension(index, shadowRadius);
 			LOGGER.trace("Initialized Action Button shadow radius: {}", getShadowRadius());
 		}
 	}
@@ -439,12 +720,12 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the shadow X-axis offset
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShadowXOffset(TypedArray attrs) {
+	private void initShadowXOffset(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_shadow_xOffset;
-		if (attrs.hasValue(index)) {
-			shadowXOffset = attrs.getDimension(index, shadowXOffset);
+		if (style.has(index)) {
+			shadowXOffset = style.getDimension(index, shadowXOffset);
 			LOGGER.trace("Initialized Action Button X-axis offset: {}", getShadowXOffset());
 		}
 	}
@@ -452,12 +733,12 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the shadow Y-axis offset
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShadowYOffset(TypedArray attrs) {
+	private void initShadowYOffset(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_shadow_yOffset;
-		if (attrs.hasValue(index)) {
-			shadowYOffset = attrs.getDimension(index, shadowYOffset);
+		if (style.has(index)) {
+			shadowYOffset = style.getDimension(index, shadowYOffset);
 			LOGGER.trace("Initialized Action Button shadow Y-axis offset: {}", getShadowYOffset());
 		}
 	}
@@ -465,12 +746,12 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the shadow color
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShadowColor(TypedArray attrs) {
+	private void initShadowColor(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_shadow_color;
-		if (attrs.hasValue(index)) {
-			shadowColor = attrs.getColor(index, shadowColor);
+		if (style.has(index)) {
+			shadowColor = style.getInt(index, shadowColor);
 			LOGGER.trace("Initialized Action Button shadow color: {}", getShadowColor());
 		}
 	}
@@ -478,39 +759,80 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the Shadow Responsive Effect
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShadowResponsiveEffectEnabled(TypedArray attrs) {
+	private void initShadowResponsiveEffectEnabled(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_shadowResponsiveEffect_enabled;
-		if (attrs.hasValue(index)) {
-			shadowResponsiveEffectEnabled = attrs.getBoolean(index, shadowResponsiveEffectEnabled);
+		if (style.has(index)) {
+			shadowResponsiveEffectEnabled = style.getBoolean(index, shadowResponsiveEffectEnabled);
 			LOGGER.trace("Initialized Action Button Shadow Responsive Effect enabled: {}",
 					isShadowResponsiveEffectEnabled());
 		}
 	}
 
+	/**
+	 * Initializes the hardware rendering
+	 *
+	 * @param style snapshot of the resolved attributes
+	 */
+	private void initHardwareRenderingEnabled(ActionButtonStyle style) {
+		int index = R.styleable.ActionButton_hardwareRendering_enabled;
+		if (style.has(index)) {
+			hardwareRenderingEnabled = style.getBoolean(index, hardwareRenderingEnabled);
+			LOGGER.trace("Initialized Action Button hardware rendering enabled: {}",
+					isHardwareRenderingEnabled());
+		}
+	}
+
+	/**
+	 * Initializes the {@link ShadowRenderer}
+	 *
+	 * @param style snapshot of the resolved attributes
+	 */
+	private void initShadowRenderer(ActionButtonStyle style) {
+		int index = R.styleable.ActionButton_shadow_renderer;
+		if (style.has(index)) {
+			int id = style.getInt(index, shadowRenderer.getId());
+			shadowRenderer = ShadowRenderer.forId(id);
+			LOGGER.trace("Initialized Action Button shadow renderer: {}", getShadowRenderer());
+		}
+	}
+
 	/**
 	 * Initializes the stroke width
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initStrokeWidth(TypedArray attrs) {
+	private void initStrokeWidth(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_stroke_width;
-		if (attrs.hasValue(index)) {
-			strokeWidth = attrs.getDimension(index, strokeWidth);
+		if (style.has(index)) {
+			strokeWidth = style.getDimension(index, strokeWidth);
 			LOGGER.trace("Initialized Action Button stroke width: {}", getStrokeWidth());
 		}
 	}
 
+	/**
+	 * Initializes the fixed footprint
+	 *
+	 * @param style snapshot of the resolved attributes
+	 */
+	private void initFixedFootprint(ActionButtonStyle style) {
+		int index = R.styleable.ActionButton_fixed_footprint;
+		if (style.has(index)) {
+			fixedFootprint = style.getDimension(index, fixedFootprint);
+			LOGGER.trace("Initialized Action Button fixed footprint: {}", getFixedFootprint());
+		}
+	}
+
 	/**
 	 * Initializes the stroke color
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initStrokeColor(TypedArray attrs) {
+	private void initStrokeColor(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_stroke_color;
-		if (attrs.hasValue(index)) {
-			strokeColor = attrs.getColor(index, strokeColor);
+		if (style.has(index)) {
+			strokeColor = style.getInt(index, strokeColor);
 			LOGGER.trace("Initialized Action Button stroke color: {}", getStrokeColor());
 		}
 	}
@@ -519,12 +841,12 @@ public class ActionButton extends View {
 	 * Initializes the animation, which is used while showing 
 	 * <b>Action Button</b>
 	 *  
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initShowAnimation(TypedArray attrs) {
+	private void initShowAnimation(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_show_animation;
-		if (attrs.hasValue(index)) {
-			int animResId = attrs.getResourceId(index, Animations.NONE.animResId);
+		if (style.has(index)) {
+			int animResId = style.getInt(index, Animations.NONE.animResId);
 			showAnimation = Animations.load(getContext(), animResId);
 			LOGGER.trace("Initialized Action Button show animation");
 		}
@@ -534,12 +856,12 @@ public class ActionButton extends View {
 	 * Initializes the animation, which is used while hiding or dismissing
 	 * <b>Action Button</b>
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initHideAnimation(TypedArray attrs) {
+	private void initHideAnimation(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_hide_animation;
-		if (attrs.hasValue(index)) {
-			int animResId = attrs.getResourceId(index, Animations.NONE.animResId);
+		if (style.has(index)) {
+			int animResId = style.getInt(index, Animations.NONE.animResId);
 			hideAnimation = Animations.load(getContext(), animResId);
 			LOGGER.trace("Initialized Action Button hide animation");
 		}
@@ -548,12 +870,15 @@ public class ActionButton extends View {
 	/**
 	 * Initializes the image inside <b>Action Button</b>
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initImage(TypedArray attrs) {
+	private void initImage(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_image;
-		if (attrs.hasValue(index)) {
-			image = attrs.getDrawable(index);
+		if (style.has(index)) {
+			image = style.newImage(getResources(), getContext().getTheme());
+			if (image != null) {
+				image.setCallback(this);
+			}
 			LOGGER.trace("Initialized Action Button image");
 		}
 	}
@@ -564,12 +889,12 @@ public class ActionButton extends View {
 	 * Changing the default size of the image breaks the rules of 
 	 * <a href="http://www.google.com/design/spec/components/buttons.html">Material Design</a>
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
-	private void initImageSize(TypedArray attrs) {
+	private void initImageSize(ActionButtonStyle style) {
 		int index = R.styleable.ActionButton_image_size;
-		if (attrs.hasValue(index)) {
-			imageSize = attrs.getDimension(index, imageSize);
+		if (style.has(index)) {
+			imageSize = style.getDimension(index, imageSize);
 			LOGGER.trace("Initialized Action Button image size: {}", getImageSize());
 		}
 	}
@@ -662,9 +987,14 @@ public class ActionButton extends View {
 	 * @param params moving parameters, which contain the desired position to move
 	 */
 	public void move(MovingParams params) {
-		LOGGER.trace("About to move the Action Button: X-axis delta = {}, Y-axis delta = {}",
-				params.getXAxisDelta(), params.getYAxisDelta());
-		mover.move(params);
+		boolean traced = Tracing.beginSection("ActionButton#move");
+		try {
+			LOGGER.trace("About to move the Action Button: X-axis delta = {}, Y-axis delta = {}",
+					params.getXAxisDelta(), params.getYAxisDelta());
+			mover.move(params);
+		} finally {
+			Tracing.endSection(traced);
+		}
 	}
 
 	/**
@@ -771,8 +1101,13 @@ public class ActionButton extends View {
 	 *                   (dp) pixels
 	 */
 	public void setSize(float size) {
-		this.size = dpToPx(size);
-		requestLayout();
+		float px = dpToPx(size);
+		if (this.size == px) {
+			return;
+		}
+		this.size = px;
+		staticLayerCache.invalidate();
+		onPropertyChanged(CHANGE_SHADOW | CHANGE_LAYOUT);
 		LOGGER.trace("Set the Action Button size to: {}", getSize());
 	}
 
@@ -792,8 +1127,14 @@ public class ActionButton extends View {
 	 * @param state new state of the <b>Action Button</b>
 	 */
 	public void setState(State state) {
+		if (this.state == state) {
+			return;
+		}
 		this.state = state;
-		invalidate();
+		if (hasElevation()) {
+			setPressed(state == State.PRESSED);
+		}
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the Action Button state to: {}", getState());
 	}
 
@@ -816,8 +1157,12 @@ public class ActionButton extends View {
 	 *                    when in {@link State#NORMAL} state
 	 */
 	public void setButtonColor(int buttonColor) {
+		if (this.buttonColor == buttonColor) {
+			return;
+		}
 		this.buttonColor = buttonColor;
-		invalidate();
+		staticLayerCache.invalidateCircles();
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the Action Button color to: {}", getButtonColor());
 	}
 
@@ -840,8 +1185,13 @@ public class ActionButton extends View {
 	 *                           when in {@link State#PRESSED} state
 	 */
 	public void setButtonColorPressed(int buttonColorPressed) {
+		if (this.buttonColorPressed == buttonColorPressed) {
+			return;
+		}
 		this.buttonColorPressed = buttonColorPressed;
+		staticLayerCache.invalidateCircles();
 		setButtonColorRipple(darkenButtonColorPressed());
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the Action Button color pressed to: {}", getButtonColorPressed());
 	}
 
@@ -865,12 +1215,18 @@ public class ActionButton extends View {
 	}
 
 	/**
-	 * Toggles the Ripple Effect state
+	 * Toggles the Ripple Effect state and reinitializes the layer type
 	 *
 	 * @param enabled true if Ripple Effect needs to be enabled, otherwise false
 	 */
 	public void setRippleEffectEnabled(boolean enabled) {
+		if (this.rippleEffectEnabled == enabled) {
+			return;
+		}
 		this.rippleEffectEnabled = enabled;
+		if (isPlatformRippleEffectEnabled()) {
+			onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_PAINT);
+		}
 		LOGGER.trace("{} the Action Button Ripple Effect", isRippleEffectEnabled() ? "Enabled" : "Disabled");
 	}
 
@@ -889,10 +1245,120 @@ public class ActionButton extends View {
 	 * @param buttonColorRipple <b>Action Button</b> ripple effect color
 	 */
 	public void setButtonColorRipple(int buttonColorRipple) {
+		if (this.buttonColorRipple == buttonColorRipple) {
+			return;
+		}
 		this.buttonColorRipple = buttonColorRipple;
 		LOGGER.trace("Action Button Ripple Effect color changed to: {}", getButtonColorRipple());
 	}
 
+	/**
+	 * Returns the maximum number of the Ripple Effect ripples, which are drawn
+	 * at the same time
+	 *
+	 * @return maximum number of the Ripple Effect ripples
+	 */
+	public int getRippleEffectMaxCount() {
+		return rippleEffectMaxCount;
+	}
+
+	/**
+	 * Sets the maximum number of the Ripple Effect ripples, which are drawn
+	 * at the same time
+	 * <p>
+	 * Each press starts a new ripple, while the previous ones fade out. If the
+	 * maximum number is reached, the oldest ripple is reused. The ripples in
+	 * progress are dropped
+	 *
+	 * @param rippleEffectMaxCount maximum number of the Ripple Effect ripples,
+	 *                             which must be greater than 0
+	 */
+	public void setRippleEffectMaxCount(int rippleEffectMaxCount) {
+		int maxCount = Math.max(1, rippleEffectMaxCount);
+		if (this.rippleEffectMaxCount == maxCount) {
+			return;
+		}
+		this.rippleEffectMaxCount = maxCount;
+		((RippleEffectDrawer) rippleEffectDrawer).setMaxCount(getRippleEffectMaxCount());
+		LOGGER.trace("Changed the Action Button Ripple Effect max count to: {}", getRippleEffectMaxCount());
+	}
+
+	/**
+	 * Checks whether the platform Ripple Effect enabled
+	 * <p>
+	 * Platform Ripple Effect means that the ripple is drawn with the platform
+	 * {@link android.graphics.drawable.RippleDrawable}, which is animated on the
+	 * RenderThread and keeps running while the UI thread is busy
+	 *
+	 * @return true if the platform Ripple Effect enabled, otherwise false
+	 */
+	public boolean isPlatformRippleEffectEnabled() {
+		return platformRippleEffectEnabled;
+	}
+
+	/**
+	 * Toggles the platform Ripple Effect, reinitializes the layer type and
+	 * invalidates the view
+	 * <p>
+	 * Platform Ripple Effect means that the ripple is drawn with the platform
+	 * {@link android.graphics.drawable.RippleDrawable}, which is animated on the
+	 * RenderThread and keeps running while the UI thread is busy. Used if target
+	 * API is {@code LOLLIPOP (21)} and higher only, otherwise the default Ripple
+	 * Effect is drawn. Ripple Effect itself must be enabled as well
+	 * <p>
+	 * The software layer is not used while the platform Ripple Effect is used,
+	 * so that the shadow is drawn from the pre-blurred mask
+	 *
+	 * @param platformRippleEffectEnabled true if the platform Ripple Effect must be enabled,
+	 *                                    otherwise false
+	 */
+	public void setPlatformRippleEffectEnabled(boolean platformRippleEffectEnabled) {
+		if (this.platformRippleEffectEnabled == platformRippleEffectEnabled) {
+			return;
+		}
+		this.platformRippleEffectEnabled = platformRippleEffectEnabled;
+		onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_PAINT);
+		LOGGER.trace("{} the platform Ripple Effect", isPlatformRippleEffectEnabled() ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Checks whether the Ripple Effect is drawn with the platform
+	 * {@link android.graphics.drawable.RippleDrawable}
+	 *
+	 * @return true if the platform Ripple Effect is used, otherwise false
+	 */
+	private boolean isPlatformRippleEffectUsed() {
+		return isRippleEffectEnabled() && isPlatformRippleEffectEnabled()
+				&& Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP;
+	}
+
+	/**
+	 * Checks whether the shadow is drawn from the pre-blurred mask instead of
+	 * the shadow layer
+	 * <p>
+	 * The mask is used if hardware rendering enabled or the platform Ripple Effect
+	 * used, since neither of them allows the software layer
+	 *
+	 * @return true if the shadow is drawn from the pre-blurred mask, otherwise false
+	 */
+	private boolean isShadowMaskUsed() {
+		return isHardwareRenderingEnabled() || isPlatformRippleEffectUsed();
+	}
+
+	/**
+	 * Checks whether the shadow is drawn with the shadow layer
+	 * <p>
+	 * The shadow layer is used only if none of the Shadow Responsive Effect,
+	 * the {@link ShadowRenderer#GRADIENT} renderer and the pre-blurred mask
+	 * draws the shadow
+	 *
+	 * @return true if the shadow is drawn with the shadow layer, otherwise false
+	 */
+	private boolean isShadowLayerUsed() {
+		return hasShadow() && !isShadowResponsiveEffectEnabled()
+				&& getShadowRenderer() != ShadowRenderer.GRADIENT && !isShadowMaskUsed();
+	}
+
 	/**
 	 * Checks whether <b>Action Button</b> has shadow by determining shadow radius
 	 * <p>
@@ -929,11 +1395,17 @@ public class ActionButton extends View {
 	 *                     (dp) pixels
 	 */
 	public void setShadowRadius(float shadowRadius) {
-		this.shadowRadius = dpToPx(shadowRadius);
+		float px = dpToPx(shadowRadius);
+		if (this.shadowRadius == px) {
+			return;
+		}
+		boolean shadowToggled = (this.shadowRadius > 0.0f) != (px > 0.0f);
+		this.shadowRadius = px;
 		if (isShadowResponsiveEffectEnabled()) {
 			((ShadowResponsiveDrawer) shadowResponsiveDrawer).setCurrentShadowRadius(getShadowRadius());
 		}
-		requestLayout();
+		onPropertyChanged(shadowToggled ? CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_LAYOUT
+				: CHANGE_SHADOW | CHANGE_LAYOUT);
 		LOGGER.trace("Action Button shadow radius changed to: {}", getShadowRadius());
 	}
 
@@ -976,8 +1448,12 @@ public class ActionButton extends View {
 	 *                      (dp) pixels                         
 	 */
 	public void setShadowXOffset(float shadowXOffset) {
-		this.shadowXOffset = dpToPx(shadowXOffset);
-		requestLayout();
+		float px = dpToPx(shadowXOffset);
+		if (this.shadowXOffset == px) {
+			return;
+		}
+		this.shadowXOffset = px;
+		onPropertyChanged(CHANGE_LAYOUT);
 		LOGGER.trace("Changed the Action Button shadow X offset to: {}", getShadowXOffset());
 	}
 
@@ -1011,8 +1487,12 @@ public class ActionButton extends View {
 	 *                      (dp) pixels                         
 	 */
 	public void setShadowYOffset(float shadowYOffset) {
-		this.shadowYOffset = dpToPx(shadowYOffset);
-		requestLayout();
+		float px = dpToPx(shadowYOffset);
+		if (this.shadowYOffset == px) {
+			return;
+		}
+		this.shadowYOffset = px;
+		onPropertyChanged(CHANGE_LAYOUT);
 		LOGGER.trace("Changed the Action Button shadow Y offset to: {}", getShadowYOffset());
 	}
 
@@ -1032,8 +1512,11 @@ public class ActionButton extends View {
 	 * @param shadowColor <b>Action Button</b> color
 	 */
 	public void setShadowColor(int shadowColor) {
+		if (this.shadowColor == shadowColor) {
+			return;
+		}
 		this.shadowColor = shadowColor;
-		invalidate();
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the Action Button shadow color to: {}", getShadowColor());
 	}
 
@@ -1059,11 +1542,72 @@ public class ActionButton extends View {
 	 *                                      enabled, otherwise false
 	 */
 	public void setShadowResponsiveEffectEnabled(boolean shadowResponsiveEffectEnabled) {
+		if (this.shadowResponsiveEffectEnabled == shadowResponsiveEffectEnabled) {
+			return;
+		}
 		this.shadowResponsiveEffectEnabled = shadowResponsiveEffectEnabled;
-		requestLayout();
+		initElevation();
+		onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_LAYOUT);
 		LOGGER.trace("{} the Shadow Responsive Effect", isShadowResponsiveEffectEnabled() ? "Enabled" : "Disabled");
 	}
 
+	/**
+	 * Checks whether hardware rendering enabled
+	 * <p>
+	 * Hardware rendering means that shadow is drawn from the pre-blurred mask
+	 * instead of the shadow layer, so that the software layer is not needed
+	 *
+	 * @return true if <b>Action Button</b> hardware rendering enabled, otherwise false
+	 */
+	public boolean isHardwareRenderingEnabled() {
+		return hardwareRenderingEnabled;
+	}
+
+	/**
+	 * Toggles the hardware rendering, reinitializes the layer type and
+	 * invalidates the view
+	 * <p>
+	 * Hardware rendering means that shadow is drawn from the pre-blurred mask
+	 * instead of the shadow layer, so that the software layer is not needed
+	 *
+	 * @param hardwareRenderingEnabled true if hardware rendering must be enabled,
+	 *                                 otherwise false
+	 */
+	public void setHardwareRenderingEnabled(boolean hardwareRenderingEnabled) {
+		if (this.hardwareRenderingEnabled == hardwareRenderingEnabled) {
+			return;
+		}
+		this.hardwareRenderingEnabled = hardwareRenderingEnabled;
+		onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_PAINT);
+		LOGGER.trace("{} the hardware rendering", isHardwareRenderingEnabled() ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Returns the {@link ShadowRenderer}, which is used for drawing the shadow
+	 *
+	 * @return <b>Action Button</b> shadow renderer
+	 */
+	public ShadowRenderer getShadowRenderer() {
+		return shadowRenderer;
+	}
+
+	/**
+	 * Sets the {@link ShadowRenderer}, which is used for drawing the shadow,
+	 * reinitializes the layer type and invalidates the view
+	 * <p>
+	 * {@link ShadowRenderer#GRADIENT} renderer doesn't need the software layer
+	 *
+	 * @param shadowRenderer <b>Action Button</b> shadow renderer
+	 */
+	public void setShadowRenderer(ShadowRenderer shadowRenderer) {
+		if (this.shadowRenderer == shadowRenderer) {
+			return;
+		}
+		this.shadowRenderer = shadowRenderer;
+		onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_SHADOW | CHANGE_PAINT);
+		LOGGER.trace("Set the Action Button shadow renderer: {}", getShadowRenderer());
+	}
+
 	/**
 	 * Returns the <b>Action Button</b> stroke width in actual 
 	 * pixels (px)
@@ -1099,8 +1643,13 @@ public class ActionButton extends View {
 	 *                    (dp) pixels                       
 	 */
 	public void setStrokeWidth(float strokeWidth) {
-		this.strokeWidth = dpToPx(strokeWidth);
-		requestLayout();
+		float px = dpToPx(strokeWidth);
+		if (this.strokeWidth == px) {
+			return;
+		}
+		this.strokeWidth = px;
+		staticLayerCache.invalidate();
+		onPropertyChanged(CHANGE_LAYOUT);
 		LOGGER.trace("Changed the stroke width to: {}", getStrokeWidth());
 	}
 
@@ -1129,8 +1678,12 @@ public class ActionButton extends View {
 	 * @param strokeColor <b>Action Button</b> stroke color
 	 */
 	public void setStrokeColor(int strokeColor) {
+		if (this.strokeColor == strokeColor) {
+			return;
+		}
 		this.strokeColor = strokeColor;
-		invalidate();
+		staticLayerCache.invalidateOverlay();
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the stroke color to: {}", getStrokeColor());
 	}
 
@@ -1166,8 +1719,18 @@ public class ActionButton extends View {
 	 *              inside the view                 
 	 */
 	public void setImageDrawable(Drawable image) {
+		if (this.image == image) {
+			return;
+		}
+		if (this.image != null) {
+			this.image.setCallback(null);
+		}
 		this.image = image;
-		invalidate();
+		if (image != null) {
+			image.setCallback(this);
+		}
+		staticLayerCache.invalidateOverlay();
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Set the Action Button image drawable");
 	}
 
@@ -1229,10 +1792,62 @@ public class ActionButton extends View {
 	 *             specified in density-independent (dp) pixels                
 	 */
 	public void setImageSize(float size) {
-		this.imageSize = dpToPx(size);
+		float px = dpToPx(size);
+		if (this.imageSize == px) {
+			return;
+		}
+		this.imageSize = px;
+		staticLayerCache.invalidateOverlay();
+		onPropertyChanged(CHANGE_PAINT);
 		LOGGER.trace("Changed the Action Button image size to: {}", getImageSize());
 	}
 
+	/**
+	 * Returns the <b>Action Button</b> fixed footprint in actual pixels (px)
+	 *
+	 * @return <b>Action Button</b> fixed footprint in actual pixels (px),
+	 * 0 if the footprint is calculated from the content
+	 */
+	public float getFixedFootprint() {
+		return fixedFootprint;
+	}
+
+	/**
+	 * Checks whether <b>Action Button</b> reserves the fixed footprint
+	 *
+	 * @return true if <b>Action Button</b> reserves the fixed footprint, otherwise false
+	 */
+	public boolean hasFixedFootprint() {
+		return getFixedFootprint() > 0.0f;
+	}
+
+	/**
+	 * Sets the fixed footprint, which is reserved for the entire view,
+	 * and invalidates the layout of the view
+	 * <p>
+	 * While the fixed footprint is reserved, changes of the size, the shadow and
+	 * the stroke, which fit within the footprint, only invalidate the view, so that
+	 * the parent is not relayouted. The footprint must include the main circle,
+	 * the maximum shadow with its offsets and the stroke, otherwise the view is
+	 * enlarged and relayouted as usual. If set to 0, the footprint is calculated
+	 * from the content
+	 * <p>
+	 * Must be specified in density-independent (dp) pixels, which are
+	 * then converted into actual pixels (px)
+	 *
+	 * @param footprint width and height of the entire view specified in
+	 *                  density-independent (dp) pixels
+	 */
+	public void setFixedFootprint(float footprint) {
+		float px = dpToPx(footprint);
+		if (this.fixedFootprint == px) {
+			return;
+		}
+		this.fixedFootprint = px;
+		onPropertyChanged(CHANGE_FOOTPRINT);
+		LOGGER.trace("Changed the Action Button fixed footprint to: {}", getFixedFootprint());
+	}
+
 	/**
 	 * Returns an animation, which is used while showing <b>Action Button</b>
 	 *
@@ -1311,6 +1926,165 @@ public class ActionButton extends View {
 		LOGGER.trace("Removed the Action Button hide animation");
 	}
 
+	/**
+	 * Returns the listener, which receives the frame metrics
+	 *
+	 * @return listener, which receives the frame metrics, or null if not set
+	 */
+	public FrameMetrics.Listener getFrameMetricsListener() {
+		return frameMetricsListener;
+	}
+
+	/**
+	 * Sets the listener, which receives the frame metrics
+	 * <p>
+	 * Frame metrics are collected only while the listener is set and are reported
+	 * every {@link #FRAME_METRICS_BATCH_SIZE} frames and once the <b>Action Button</b>
+	 * is detached from the window
+	 *
+	 * @param listener listener, which receives the frame metrics, or null to
+	 *                 stop collecting the frame metrics
+	 */
+	public void setFrameMetricsListener(FrameMetrics.Listener listener) {
+		this.frameMetricsListener = listener;
+		frameMetrics.reset();
+		LOGGER.trace("{} the Action Button frame metrics", listener != null ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Checks whether the low-latency input mode is enabled
+	 *
+	 * @return true if the low-latency input mode is enabled, otherwise false
+	 */
+	public boolean isLowLatencyEnabled() {
+		return lowLatencyEnabled;
+	}
+
+	/**
+	 * Enables or disables the low-latency input mode
+	 * <p>
+	 * While enabled, the unbuffered input dispatch is requested for each gesture
+	 * started inside the main circle, so that the motion events are delivered as soon
+	 * as they arrive instead of being batched to the next frame, and the pressed state
+	 * is drawn within the same frame as the touch down
+	 * <p>
+	 * Low-latency input mode takes effect on API 21 and higher and is disabled by default
+	 *
+	 * @param lowLatencyEnabled true to enable the low-latency input mode, otherwise false
+	 */
+	public void setLowLatencyEnabled(boolean lowLatencyEnabled) {
+		this.lowLatencyEnabled = lowLatencyEnabled;
+		LOGGER.trace("{} the Action Button low-latency input mode", lowLatencyEnabled ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Returns the listener, which receives the touch-to-draw latency
+	 *
+	 * @return listener, which receives the touch-to-draw latency, or null if not set
+	 */
+	public TouchLatencyListener getTouchLatencyListener() {
+		return touchLatencyListener;
+	}
+
+	/**
+	 * Sets the listener, which receives the touch-to-draw latency
+	 * <p>
+	 * Latency is measured only while the listener is set, for each press
+	 * inside the main circle
+	 *
+	 * @param listener listener, which receives the touch-to-draw latency, or null
+	 *                 to stop measuring the latency
+	 */
+	public void setTouchLatencyListener(TouchLatencyListener listener) {
+		this.touchLatencyListener = listener;
+		pendingPressTime = -1L;
+		LOGGER.trace("{} the Action Button touch latency measuring", listener != null ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Returns the editor, which changes the properties in a batch
+	 * <p>
+	 * Values set by the returned {@link Editor} are kept pending until
+	 * {@link Editor#apply()} is called and then applied at once, so that the whole
+	 * batch causes at most one layout invalidation and one view invalidation.
+	 * The pending values of the previous edit, which was never applied, are dropped.
+	 * Changes made by the <b>Action Button</b> setters are always applied
+	 * immediately
+	 *
+	 * @return editor, which is used to change the properties
+	 */
+	public Editor edit() {
+		editor.clear();
+		return editor;
+	}
+
+	/**
+	 * Applies the property changes immediately or accumulates them
+	 * if they are made by the {@link Editor}
+	 *
+	 * @param changes property changes, one or more of the {@code CHANGE_*} flags
+	 */
+	private void onPropertyChanged(int changes) {
+		pendingChanges |= changes;
+		if (!batching) {
+			applyChanges();
+		}
+	}
+
+	/**
+	 * Applies the accumulated property changes
+	 * <p>
+	 * Layer type is reinitialized before the shadow is prepared, since the shadow
+	 * is drawn from the pre-blurred mask whenever the software layer is not used
+	 */
+	private void applyChanges() {
+		int changes = pendingChanges;
+		pendingChanges = 0;
+		if ((changes & CHANGE_LAYER_TYPE) != 0) {
+			initLayerType();
+		}
+		if ((changes & CHANGE_LAYOUT) != 0 && (changes & CHANGE_FOOTPRINT) == 0 && hasFixedFootprint()) {
+			changes = applyLayoutChangeWithinFootprint(changes);
+		}
+		if ((changes & CHANGE_SHADOW) != 0) {
+			prepareShadow();
+		}
+		if ((changes & (CHANGE_LAYOUT | CHANGE_FOOTPRINT)) != 0) {
+			requestLayout();
+		}
+		if ((changes & CHANGE_PAINT) != 0) {
+			invalidate();
+		}
+		if (changes != 0 && LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Applied the Action Button property changes: {}", changes);
+		}
+	}
+
+	/**
+	 * Turns the layout change into the paint-only one if the content still fits
+	 * within the measured dimensions of the fixed footprint and the layout
+	 * is not requested already
+	 * <p>
+	 * The work, which is otherwise done once the size of the view changes, is
+	 * done here instead, since the size stays the same
+	 *
+	 * @param changes property changes, which include {@link #CHANGE_LAYOUT}
+	 * @return property changes, which must be applied further
+	 */
+	private int applyLayoutChangeWithinFootprint(int changes) {
+		if (isLayoutRequested()) {
+			return changes;
+		}
+		if (calculateMeasuredWidth() != getMeasuredWidth() || calculateMeasuredHeight() != getMeasuredHeight()) {
+			LOGGER.trace("Action Button content doesn't fit within the fixed footprint, relayout required");
+			return changes;
+		}
+		if (hasElevation()) {
+			drawElevation();
+		}
+		return (changes & ~CHANGE_LAYOUT) | CHANGE_SHADOW | CHANGE_PAINT;
+	}
+
 	/**
 	 * Returns the <b>Action Button</b> touch point
 	 * <p>
@@ -1340,7 +2114,14 @@ public class ActionButton extends View {
 	 *    on {@link android.view.MotionEvent#ACTION_UP}
 	 * 3. Changes the <b>Action Button</b> {@link #state} to {@link State#NORMAL}
 	 *    on {@link android.view.MotionEvent#ACTION_MOVE} in case when touch point
-	 *    leaves the main circle
+	 *    moves beyond the touch slop and leaves the main circle
+	 * 4. Changes the <b>Action Button</b> {@link #state} to {@link State#NORMAL}
+	 *    on {@link android.view.MotionEvent#ACTION_CANCEL}
+	 * <p>
+	 * The gesture is tracked by the reused {@link TouchTracker}, which checks the
+	 * batched historical samples in a single pass, so that the state is changed and
+	 * the view is invalidated only on the real transitions and no objects are
+	 * allocated while touching
 	 *
 	 * @param event motion event
 	 * @return true if event was handled, otherwise false
@@ -1349,42 +2130,64 @@ public class ActionButton extends View {
 	@SuppressLint("ClickableViewAccessibility")
 	@Override
 	public boolean onTouchEvent(MotionEvent event) {
-		super.onTouchEvent(event);
-		TouchPoint point = new TouchPoint(event.getX(), event.getY());
-		boolean touchPointInsideCircle = point.isInsideCircle(calculateCenterX(), calculateCenterY(),
-				calculateCircleRadius());
-		int action = event.getAction();
-		switch (action) {
-			case MotionEvent.ACTION_DOWN:
-				if (touchPointInsideCircle) {
+		boolean traced = Tracing.beginSection("ActionButton#onTouchEvent");
+		try {
+			super.onTouchEvent(event);
+			DiagnosticLog.record(DiagnosticLog.EVENT_TOUCH, this, event.getAction(), event.getX(), event.getY(), 0.0f);
+			switch (touchTracker.onTouchEvent(event, calculateCenterX(), calculateCenterY(), calculateCircleRadius())) {
+				case TouchTracker.TRANSITION_PRESS:
+					getWakeupTracker().onInteraction();
+					if (isLowLatencyEnabled()) {
+						requestUnbufferedDispatchCompat(event);
+					}
+					if (touchLatencyListener != null) {
+						pendingPressTime = event.getEventTime();
+					}
 					setState(State.PRESSED);
-					setTouchPoint(point);
+					getTouchPoint().setX(event.getX());
+					getTouchPoint().setY(event.getY());
+					pressRipple(event.getX(), event.getY(), touchTracker.getTransitionTime());
 					LOGGER.trace("Detected the ACTION_DOWN motion event");
 					return true;
-				}
-				break;
-			case MotionEvent.ACTION_UP:
-				if (touchPointInsideCircle) {
-					setState(State.NORMAL);
-					getTouchPoint().reset();
-					LOGGER.trace("Detected the ACTION_UP motion event");
+				case TouchTracker.TRANSITION_RELEASE:
+					release();
+					LOGGER.trace("Detected the release motion event");
 					return true;
-				}
-				break;
-			case MotionEvent.ACTION_MOVE:
-				if (!touchPointInsideCircle
-						&& getState() == State.PRESSED) {
-					setState(State.NORMAL);
-					getTouchPoint().reset();
-					LOGGER.trace("Detected the ACTION_MOVE motion event");
+				case TouchTracker.TRANSITION_CANCEL:
+					release();
+					LOGGER.trace("Detected the ACTION_CANCEL motion event");
 					return true;
-				}
-				break;
-			default:
-				LOGGER.warn("Detected unrecognized motion event");
-				break;
+				default:
+					return touchTracker.isTracking();
+			}
+		} finally {
+			Tracing.endSection(traced);
+		}
+	}
+
+	/**
+	 * Requests the unbuffered dispatch of the motion events for the rest of the gesture
+	 * if the target API is {@code LOLLIPOP (21)} and higher
+	 *
+	 * @param event motion event, which started the gesture
+	 */
+	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+	private void requestUnbufferedDispatchCompat(MotionEvent event) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			requestUnbufferedDispatch(event);
+			LOGGER.trace("Requested the unbuffered input dispatch");
 		}
-		return false;
+	}
+
+	/**
+	 * Changes the <b>Action Button</b> {@link #state} to {@link State#NORMAL},
+	 * resets the touch point and releases the Ripple Effect at the time
+	 * of the last touch transition
+	 */
+	private void release() {
+		setState(State.NORMAL);
+		getTouchPoint().reset();
+		releaseRipple(touchTracker.getTransitionTime());
 	}
 
 	/**
@@ -1421,6 +2224,16 @@ public class ActionButton extends View {
 		LOGGER.trace("Reset the Action Button paint");
 	}
 
+	/**
+	 * Returns the tracker, which accounts the frames and the wakeups caused by
+	 * the <b>Action Button</b>
+	 *
+	 * @return tracker, which accounts the frames and the wakeups
+	 */
+	WakeupTracker getWakeupTracker() {
+		return wakeupTracker;
+	}
+
 	/**
 	 * Returns the view invalidator, which is used to invalidate the
 	 * <b>Action Button</b>
@@ -1439,67 +2252,226 @@ public class ActionButton extends View {
 	@SuppressWarnings("all")
 	@Override
 	protected void onDraw(final Canvas canvas) {
-		super.onDraw(canvas);
-		LOGGER.trace("Called Action Button onDraw");
-		drawCircle(canvas);
-		if (isRippleEffectEnabled()) {
-			drawRipple(canvas);
+		boolean traced = Tracing.beginSection("ActionButton#onDraw");
+		try {
+			super.onDraw(canvas);
+			LOGGER.trace("Called Action Button onDraw");
+			DiagnosticLog.record(DiagnosticLog.EVENT_DRAW, this);
+			boolean effectsInProgress = isRippleEffectInProgress();
+			shadowResponseFrame = false;
+			boolean metricsCollected = frameMetricsListener != null;
+			long stageStartTime = metricsCollected ? System.nanoTime() : 0L;
+			drawCircle(canvas);
+			long circleDrawTime = 0L;
+			if (metricsCollected) {
+				long time = System.nanoTime();
+				circleDrawTime = time - stageStartTime;
+				stageStartTime = time;
+			}
+			long rippleDrawTime = 0L;
+			if (isRippleEffectEnabled()) {
+				drawRipple(canvas);
+				if (metricsCollected) {
+					long time = System.nanoTime();
+					rippleDrawTime = time - stageStartTime;
+					stageStartTime = time;
+				}
+			}
+			long overlayDrawTime = 0L;
+			if (hasStroke() || hasImage()) {
+				staticLayerCache.drawOverlay(canvas);
+				if (metricsCollected) {
+					overlayDrawTime = System.nanoTime() - stageStartTime;
+				}
+			}
+			effectsInProgress |= isRippleEffectInProgress() || shadowResponseFrame;
+			getWakeupTracker().onFrame();
+			boolean invalidationScheduled = getInvalidator().invalidate();
+			if (invalidationScheduled) {
+				getWakeupTracker().onInvalidationScheduled(effectsInProgress);
+			}
+			if (metricsCollected) {
+				collectFrameMetrics(circleDrawTime, rippleDrawTime, overlayDrawTime, invalidationScheduled);
+			}
+			if (pendingPressTime >= 0L) {
+				reportTouchLatency();
+			}
+		} finally {
+			Tracing.endSection(traced);
 		}
-		if (hasElevation()) {
-			drawElevation();
+	}
+
+	/**
+	 * Reports the touch-to-draw latency, which is the time from the pending press
+	 * to the end of drawing of the current frame, to the listener
+	 */
+	private void reportTouchLatency() {
+		long latency = SystemClock.uptimeMillis() - pendingPressTime;
+		pendingPressTime = -1L;
+		if (touchLatencyListener != null) {
+			touchLatencyListener.onTouchLatency(this, latency);
 		}
-		if (hasStroke()) {
-			drawStroke(canvas);
+	}
+
+	/**
+	 * Adds the drawn frame to the frame metrics and reports the frame metrics
+	 * once the batch is complete
+	 *
+	 * @param circleDrawTime time spent drawing the main circle and the shadow in nanoseconds
+	 * @param rippleDrawTime time spent drawing the Ripple Effect in nanoseconds
+	 * @param overlayDrawTime time spent drawing the stroke and the image in nanoseconds
+	 * @param invalidationScheduled true if the invalidation was scheduled to draw
+	 *                              the next frame, otherwise false
+	 */
+	private void collectFrameMetrics(long circleDrawTime, long rippleDrawTime, long overlayDrawTime,
+			boolean invalidationScheduled) {
+		frameMetrics.addFrame(circleDrawTime, rippleDrawTime, overlayDrawTime);
+		if (invalidationScheduled) {
+			frameMetrics.addInvalidation();
 		}
-		if (hasImage()) {
-			drawImage(canvas);
+		if (isRippleEffectInProgress()) {
+			frameMetrics.addRippleFrame();
+		}
+		if (frameMetrics.getFrameCount() >= FRAME_METRICS_BATCH_SIZE) {
+			reportFrameMetrics();
+		}
+	}
+
+	/**
+	 * Reports the accumulated frame metrics to the listener and starts the next batch
+	 */
+	private void reportFrameMetrics() {
+		if (frameMetricsListener != null && !frameMetrics.isEmpty()) {
+			frameMetricsListener.onFrameMetrics(this, frameMetrics);
+		}
+		frameMetrics.reset();
+	}
+
+	/**
+	 * Checks whether the Ripple Effect, which is drawn by the <b>Action Button</b>
+	 * itself, is in progress
+	 *
+	 * @return true if the Ripple Effect is in progress, otherwise false
+	 */
+	private boolean isRippleEffectInProgress() {
+		return isRippleEffectEnabled() && !isPlatformRippleEffectUsed()
+				&& ((RippleEffectDrawer) rippleEffectDrawer).isDrawingInProgress();
+	}
+
+	/**
+	 * Called once the Shadow Responsive Effect frame is drawn
+	 *
+	 * @param finished true if the Shadow Responsive Effect animation finished
+	 *                 within the frame, otherwise false
+	 */
+	void onShadowResponseFrame(boolean finished) {
+		shadowResponseFrame = true;
+		if (frameMetricsListener != null) {
+			frameMetrics.addShadowResponseFrame(finished);
 		}
-		getInvalidator().invalidate();
 	}
 
 	/**
 	 * Draws the main circle of the <b>Action Button</b> and calls
 	 * {@link #drawShadow()} to draw the shadow if present
+	 * <p>
+	 * Shadow is drawn with the radial gradient instead if {@link ShadowRenderer#GRADIENT}
+	 * renderer used or from the pre-blurred mask if hardware rendering enabled or
+	 * the platform Ripple Effect used
+	 * <p>
+	 * The circle itself is drawn from the cached layer unless the shadow is drawn
+	 * with the shadow layer, which is attached to the circle paint
 	 *  
 	 * @param canvas canvas, on which circle is to be drawn
 	 */
 	protected void drawCircle(Canvas canvas) {
-		resetPaint();
-		if (hasShadow()) {
-			if (isShadowResponsiveEffectEnabled()) {
-				shadowResponsiveDrawer.draw(canvas);
+		boolean traced = Tracing.beginSection("ActionButton#drawCircle");
+		try {
+			resetPaint();
+			boolean shadowLayerUsed = false;
+			if (hasShadow()) {
+				boolean shadowTraced = Tracing.beginSection("ActionButton#drawShadow");
+				if (isShadowResponsiveEffectEnabled()) {
+					shadowResponsiveDrawer.draw(canvas);
+				} else if (getShadowRenderer() == ShadowRenderer.GRADIENT) {
+					shadowGradientDrawer.draw(canvas);
+				} else if (isShadowMaskUsed()) {
+					shadowBitmapDrawer.draw(canvas);
+				} else {
+					drawShadow();
+					shadowLayerUsed = true;
+				}
+				Tracing.endSection(shadowTraced);
+			}
+			boolean rippleInProgress = isRippleEffectEnabled()
+					&& ((RippleEffectDrawer) rippleEffectDrawer).isDrawingInProgress();
+			boolean pressed = getState() == State.PRESSED || rippleInProgress;
+			if (shadowLayerUsed) {
+				drawCircleFill(canvas, pressed);
 			} else {
-				drawShadow();
+				staticLayerCache.drawCircle(canvas, pressed);
 			}
+		} finally {
+			Tracing.endSection(traced);
 		}
+	}
+
+	/**
+	 * Fills the main circle of the <b>Action Button</b> with the
+	 * {@link State#PRESSED} or {@link State#NORMAL} state color
+	 *
+	 * @param canvas canvas, on which circle is to be drawn
+	 * @param pressed true to fill with the {@link State#PRESSED} state color,
+	 *                otherwise false
+	 */
+	void drawCircleFill(Canvas canvas, boolean pressed) {
 		getPaint().setStyle(Paint.Style.FILL);
-		boolean rippleInProgress = isRippleEffectEnabled()
-				&& ((RippleEffectDrawer) rippleEffectDrawer).isDrawingInProgress();
-		getPaint().setColor(getState() == State.PRESSED || rippleInProgress ?
-				getButtonColorPressed() : getButtonColor());
+		getPaint().setColor(pressed ? getButtonColorPressed() : getButtonColor());
 		canvas.drawCircle(calculateCenterX(), calculateCenterY(), calculateCircleRadius(), getPaint());
 		LOGGER.trace("Drawn the Action Button circle");
 	}
 
 	/**
-	 * Calculates the X-axis center coordinate of the entire view
+	 * Schedules the rendering of the pre-blurred shadow masks, which are going
+	 * to be drawn, so that they are ready by the time of drawing
+	 * <p>
+	 * Nothing is scheduled if the shadow is drawn with the shadow layer or the
+	 * {@link ShadowRenderer#GRADIENT} renderer or if the
+	 * <b>Action Button</b> is not attached to the window, since it may never
+	 * be drawn
+	 */
+	private void prepareShadow() {
+		if (!hasShadow() || getShadowRenderer() == ShadowRenderer.GRADIENT || getWindowToken() == null) {
+			return;
+		}
+		if (isShadowResponsiveEffectEnabled()) {
+			((ShadowResponsiveDrawer) shadowResponsiveDrawer).prepare();
+		} else if (isShadowMaskUsed()) {
+			((ShadowBitmapDrawer) shadowBitmapDrawer).prepare();
+		}
+	}
+
+	/**
+	 * Returns the X-axis center coordinate of the entire view
+	 * <p>
+	 * The coordinate is calculated once the view is measured, since it is
+	 * required several times per frame
 	 *
 	 * @return X-axis center coordinate of the entire view
 	 */
 	protected float calculateCenterX() {
-		float centerX = getMeasuredWidth() / 2;
-		LOGGER.trace("Calculated Action Button center X: {}", centerX);
 		return centerX;
 	}
 
 	/**
-	 * Calculates the Y-axis center coordinate of the entire view
+	 * Returns the Y-axis center coordinate of the entire view
+	 * <p>
+	 * The coordinate is calculated once the view is measured, since it is
+	 * required several times per frame
 	 *
 	 * @return Y-axis center coordinate of the entire view
 	 */
 	protected float calculateCenterY() {
-		float centerY = getMeasuredHeight() / 2;
-		LOGGER.trace("Calculated Action Button center Y: {}", centerY);
 		return centerY;
 	}
 
@@ -1509,9 +2481,7 @@ public class ActionButton extends View {
 	 * @return radius of the main circle
 	 */
 	protected final float calculateCircleRadius() {
-		float circleRadius = getSize() / 2;
-		LOGGER.trace("Calculated Action Button circle radius: {}", circleRadius);
-		return circleRadius;
+		return getSize() / 2;
 	}
 
 	/**
@@ -1528,12 +2498,139 @@ public class ActionButton extends View {
 	 * @param canvas canvas, on which ripple effect is to be drawn
 	 */
 	protected void drawRipple(Canvas canvas) {
-		rippleEffectDrawer.draw(canvas);
-		LOGGER.trace("Drawn the Action Button Ripple Effect");
+		boolean traced = Tracing.beginSection("ActionButton#drawRipple");
+		try {
+			if (isPlatformRippleEffectUsed()) {
+				platformRippleDrawer.draw(canvas);
+			} else {
+				rippleEffectDrawer.draw(canvas);
+			}
+			LOGGER.trace("Drawn the Action Button Ripple Effect");
+		} finally {
+			Tracing.endSection(traced);
+		}
+	}
+
+	/**
+	 * Called once the last ripple of the Ripple Effect finishes
+	 * <p>
+	 * Requires the circle invalidation, since the circle is drawn with the
+	 * {@link State#PRESSED} state color while the ripples are in progress
+	 */
+	void onRippleEffectEnd() {
+		requireCircleInvalidation();
+		DiagnosticLog.record(DiagnosticLog.EVENT_RIPPLE_ENDED, this);
+		if (frameMetricsListener != null) {
+			frameMetrics.addRippleEffect();
+		}
+		LOGGER.trace("Ended the Action Button Ripple Effect");
+	}
+
+	/**
+	 * Requires the invalidation of the main circle bounds only
+	 */
+	void requireCircleInvalidation() {
+		float radius = calculateCircleRadius();
+		float centerX = calculateCenterX();
+		float centerY = calculateCenterY();
+		getInvalidator().requireInvalidation(centerX - radius, centerY - radius,
+				centerX + radius, centerY + radius);
+	}
+
+	/**
+	 * Starts the Ripple Effect at the specified point if Ripple Effect enabled
+	 *
+	 * @param x X-axis coordinate of the ripple center
+	 * @param y Y-axis coordinate of the ripple center
+	 * @param time time of the touch event in milliseconds
+	 */
+	private void pressRipple(float x, float y, long time) {
+		if (isPlatformRippleEffectUsed()) {
+			((PlatformRippleDrawer) platformRippleDrawer).press(x, y);
+		} else if (isRippleEffectEnabled()) {
+			((RippleEffectDrawer) rippleEffectDrawer).startRipple(x, y, time);
+		}
+	}
+
+	/**
+	 * Releases the Ripple Effect, so that it fades out
+	 *
+	 * @param time time of the touch event in milliseconds
+	 */
+	private void releaseRipple(long time) {
+		if (isPlatformRippleEffectUsed()) {
+			((PlatformRippleDrawer) platformRippleDrawer).release();
+		} else if (isRippleEffectEnabled()) {
+			((RippleEffectDrawer) rippleEffectDrawer).releaseRipple(time);
+		}
+	}
+
+	/**
+	 * Allows the image and the platform ripple drawable to invalidate the view
+	 * <p>
+	 * Might be called by the super constructor, before the drawers are initialized
+	 *
+	 * @param who drawable to verify
+	 * @return true if the drawable is displayed by the view, otherwise false
+	 */
+	@Override
+	protected boolean verifyDrawable(Drawable who) {
+		return super.verifyDrawable(who) || (who != null && who == image) || (platformRippleDrawer != null
+				&& ((PlatformRippleDrawer) platformRippleDrawer).isRipple(who));
+	}
+
+	/**
+	 * Invalidates the cached overlay layer once the image changes its appearance,
+	 * for example when the animated image advances to the next frame, and
+	 * invalidates the view
+	 * <p>
+	 * The overlay is drawn without the cached layer while the image is animating
+	 *
+	 * @param who drawable, which requested the invalidation
+	 */
+	@Override
+	public void invalidateDrawable(Drawable who) {
+		if (who != null && who == image) {
+			staticLayerCache.invalidateImage();
+		}
+		super.invalidateDrawable(who);
+	}
+
+	/**
+	 * Finishes the platform Ripple Effect animations immediately
+	 */
+	@Override
+	public void jumpDrawablesToCurrentState() {
+		super.jumpDrawablesToCurrentState();
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			((PlatformRippleDrawer) platformRippleDrawer).jumpToCurrentState();
+		}
 	}
 	
 	/**
-	 * Draws the elevation around the main circle
+	 * Sets the view elevation, reinitializes the layer type and the elevation
+	 * rendering and invalidates the layout of the view
+	 * <p>
+	 * Might be called by the super constructor, before the fields are initialized
+	 *
+	 * @param elevation view elevation in actual pixels
+	 */
+	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+	@Override
+	public void setElevation(float elevation) {
+		boolean changed = elevation != getElevation();
+		super.setElevation(elevation);
+		if (changed && getPaint() != null) {
+			initElevation();
+			onPropertyChanged(CHANGE_LAYER_TYPE | CHANGE_LAYOUT);
+		}
+	}
+
+	/**
+	 * Configures the outline, which the elevation is drawn around
+	 * <p>
+	 * The outline provider is set once, then the outline is only invalidated,
+	 * so that the oval is recalculated for the current <b>Action Button</b> size
 	 * <p>
 	 * Stroke corrective is used due to ambiguity in drawing stroke in
 	 * combination with elevation enabled (for API 21 and higher only.
@@ -1544,18 +2641,22 @@ public class ActionButton extends View {
 	 */
 	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
 	protected void drawElevation() {
-		float halfSize = getSize() / 2;
-		final int left = (int) (calculateCenterX() - halfSize);
-		final int top = (int) (calculateCenterY() - halfSize);
-		final int right = (int) (calculateCenterX() + halfSize);
-		final int bottom = (int) (calculateCenterY() + halfSize);
-		ViewOutlineProvider provider = new ViewOutlineProvider() {
-			@Override
-			public void getOutline(View view, Outline outline) {
-				outline.setOval(left, top, right, bottom);
-			}
-		};
-		setOutlineProvider(provider);
+		if (elevationOutlineProvider == null) {
+			elevationOutlineProvider = new ViewOutlineProvider() {
+				@Override
+				public void getOutline(View view, Outline outline) {
+					float halfSize = getSize() / 2;
+					int left = (int) (calculateCenterX() - halfSize);
+					int top = (int) (calculateCenterY() - halfSize);
+					int right = (int) (calculateCenterX() + halfSize);
+					int bottom = (int) (calculateCenterY() + halfSize);
+					outline.setOval(left, top, right, bottom);
+				}
+			};
+			setOutlineProvider(elevationOutlineProvider);
+		} else {
+			invalidateOutline();
+		}
 		LOGGER.trace("Drawn the Action Button elevation");
 	}
 
@@ -1575,12 +2676,17 @@ public class ActionButton extends View {
 	 * @param canvas canvas, on which circle is to be drawn
 	 */
 	protected void drawStroke(Canvas canvas) {
-		resetPaint();
-		getPaint().setStyle(Paint.Style.STROKE);
-		getPaint().setStrokeWidth(getStrokeWidth());
-		getPaint().setColor(getStrokeColor());
-		canvas.drawCircle(calculateCenterX(), calculateCenterY(), calculateCircleRadius(), getPaint());
-		LOGGER.trace("Drawn the Action Button stroke");
+		boolean traced = Tracing.beginSection("ActionButton#drawStroke");
+		try {
+			resetPaint();
+			getPaint().setStyle(Paint.Style.STROKE);
+			getPaint().setStrokeWidth(getStrokeWidth());
+			getPaint().setColor(getStrokeColor());
+			canvas.drawCircle(calculateCenterX(), calculateCenterY(), calculateCircleRadius(), getPaint());
+			LOGGER.trace("Drawn the Action Button stroke");
+		} finally {
+			Tracing.endSection(traced);
+		}
 	}
 
 	/**
@@ -1589,19 +2695,27 @@ public class ActionButton extends View {
 	 * @param canvas canvas, on which circle is to be drawn
 	 */
 	protected void drawImage(Canvas canvas) {
-		int startPointX = (int) (calculateCenterX() - getImageSize() / 2);
-		int startPointY = (int) (calculateCenterY() - getImageSize() / 2);
-		int endPointX = (int) (startPointX + getImageSize());
-		int endPointY = (int) (startPointY + getImageSize());
-		getImage().setBounds(startPointX, startPointY, endPointX, endPointY);
-		getImage().draw(canvas);
-		LOGGER.trace("Drawn the Action Button image on canvas with coordinates: X start point = {}, " +
-				"Y start point = {}, X end point = {}, Y end point = {}",
-				startPointX, startPointY, endPointX, endPointY);
+		boolean traced = Tracing.beginSection("ActionButton#drawImage");
+		try {
+			int startPointX = (int) (calculateCenterX() - getImageSize() / 2);
+			int startPointY = (int) (calculateCenterY() - getImageSize() / 2);
+			int endPointX = (int) (startPointX + getImageSize());
+			int endPointY = (int) (startPointY + getImageSize());
+			getImage().setBounds(startPointX, startPointY, endPointX, endPointY);
+			getImage().draw(canvas);
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Drawn the Action Button image on canvas with coordinates: X start point = {}, " +
+						"Y start point = {}, X end point = {}, Y end point = {}",
+						startPointX, startPointY, endPointX, endPointY);
+			}
+		} finally {
+			Tracing.endSection(traced);
+		}
 	}
 
 	/**
-	 * Sets the measured dimension for the entire view
+	 * Sets the measured dimension for the entire view and calculates
+	 * the center coordinates, which are used while drawing and touching
 	 *
 	 * @param widthMeasureSpec horizontal space requirements as imposed by the parent.
 	 *                         The requirements are encoded with
@@ -1612,30 +2726,124 @@ public class ActionButton extends View {
 	 */
 	@Override
 	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-		super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-		LOGGER.trace("Called Action Button onMeasure");
-		setMeasuredDimension(calculateMeasuredWidth(), calculateMeasuredHeight());
-		LOGGER.trace("Measured the Action Button size: height = {}, width = {}", getHeight(), getWidth());
+		boolean traced = Tracing.beginSection("ActionButton#onMeasure");
+		try {
+			super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+			LOGGER.trace("Called Action Button onMeasure");
+			setMeasuredDimension(calculateMeasuredWidth(), calculateMeasuredHeight());
+			centerX = getMeasuredWidth() / 2;
+			centerY = getMeasuredHeight() / 2;
+			if (frameMetricsListener != null) {
+				frameMetrics.addMeasure();
+			}
+			LOGGER.trace("Measured the Action Button size: height = {}, width = {}", getHeight(), getWidth());
+		} finally {
+			Tracing.endSection(traced);
+		}
 	}
 
 	/**
-	 * Calculates the measured width in actual pixels for the entire view
-	 *  
-	 * @return measured width in actual pixels for the entire view
+	 * Counts the layout pass if the frame metrics are collected
+	 *
+	 * @param changed true if the size or position of the view changed, otherwise false
+	 * @param left left position relative to the parent
+	 * @param top top position relative to the parent
+	 * @param right right position relative to the parent
+	 * @param bottom bottom position relative to the parent
+	 */
+	@Override
+	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+		super.onLayout(changed, left, top, right, bottom);
+		if (frameMetricsListener != null) {
+			frameMetrics.addLayout();
+		}
+	}
+
+	/**
+	 * Recalculates the elevation outline and schedules the rendering of the
+	 * pre-blurred shadow masks once the <b>Action Button</b> is laid out
+	 *
+	 * @param w current width of the view
+	 * @param h current height of the view
+	 * @param oldw old width of the view
+	 * @param oldh old height of the view
+	 */
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+		if (hasElevation()) {
+			drawElevation();
+		}
+		prepareShadow();
+	}
+
+	/**
+	 * Cancels the scheduled invalidation once the <b>Action Button</b> is hidden,
+	 * so that it doesn't wake up the UI thread while not drawn
+	 * <p>
+	 * Might be called by the super constructor, before the invalidator is created
+	 *
+	 * @param changedView view, which visibility changed
+	 * @param visibility new visibility of the changed view
+	 */
+	@Override
+	protected void onVisibilityChanged(View changedView, int visibility) {
+		super.onVisibilityChanged(changedView, visibility);
+		if (visibility != VISIBLE && getInvalidator() != null) {
+			getInvalidator().cancel();
+		}
+	}
+
+	/**
+	 * Cancels the scheduled invalidation once the window, which the <b>Action Button</b>
+	 * is attached to, is hidden
+	 *
+	 * @param visibility new visibility of the window
+	 */
+	@Override
+	protected void onWindowVisibilityChanged(int visibility) {
+		super.onWindowVisibilityChanged(visibility);
+		if (visibility != VISIBLE && getInvalidator() != null) {
+			getInvalidator().cancel();
+		}
+	}
+
+	/**
+	 * Cancels the scheduled invalidation and releases the cached static layers
+	 * once the <b>Action Button</b> is detached from the window
+	 */
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		getInvalidator().cancel();
+		staticLayerCache.release();
+		reportFrameMetrics();
+	}
+
+	/**
+	 * Calculates the measured width in actual pixels for the entire view
+	 * <p>
+	 * Measured width is not less than the fixed footprint if reserved
+	 *  
+	 * @return measured width in actual pixels for the entire view
 	 */
 	private int calculateMeasuredWidth() {
-		int measuredWidth = (int) (getSize() + calculateShadowWidth() + calculateStrokeWeight());
+		int measuredWidth = Math.max((int) getFixedFootprint(),
+				(int) (getSize() + calculateShadowWidth() + calculateStrokeWeight()));
 		LOGGER.trace("Calculated Action Button measured width: {}", measuredWidth);
 		return measuredWidth;
 	}
 
 	/**
 	 * Calculates the measured height in actual pixels for the entire view
+	 * <p>
+	 * Measured height is not less than the fixed footprint if reserved
 	 *  
 	 * @return measured width in actual pixels for the entire view
 	 */
 	private int calculateMeasuredHeight() {
-		int measuredHeight = (int) (getSize() + calculateShadowHeight() + calculateStrokeWeight());
+		int measuredHeight = Math.max((int) getFixedFootprint(),
+				(int) (getSize() + calculateShadowHeight() + calculateStrokeWeight()));
 		LOGGER.trace("Calculated Action Button measured height: {}", measuredHeight);
 		return measuredHeight;
 	}
@@ -1687,6 +2895,585 @@ public class ActionButton extends View {
 		return DensityConverter.dpToPx(getContext(), dp);
 	}
 
+	/**
+	 * Editor, which changes the <b>Action Button</b> properties in a batch
+	 * <p>
+	 * Each setter only stores the pending value, so that an edit, which is never
+	 * applied, has no effect. Once {@link #apply()} is called, the pending values are
+	 * set in the order of the editor setters declaration. Each of them skips the
+	 * unchanged value and classifies the change as affecting either the drawing or
+	 * the layout, and the accumulated changes are then applied at once, so that the
+	 * batch causes at most one layout invalidation and one view invalidation.
+	 * Obtained by {@link ActionButton#edit()}
+	 */
+	public final class Editor {
+
+		/**
+		 * Flag of the pending {@link #setType(Type)} value
+		 */
+		private static final int PROPERTY_TYPE = 1;
+
+		/**
+		 * Flag of the pending {@link #setSize(float)} value
+		 */
+		private static final int PROPERTY_SIZE = 1 << 1;
+
+		/**
+		 * Flag of the pending {@link #setButtonColor(int)} value
+		 */
+		private static final int PROPERTY_BUTTON_COLOR = 1 << 2;
+
+		/**
+		 * Flag of the pending {@link #setButtonColorPressed(int)} value
+		 */
+		private static final int PROPERTY_BUTTON_COLOR_PRESSED = 1 << 3;
+
+		/**
+		 * Flag of the pending {@link #setButtonColorRipple(int)} value
+		 */
+		private static final int PROPERTY_BUTTON_COLOR_RIPPLE = 1 << 4;
+
+		/**
+		 * Flag of the pending {@link #setRippleEffectEnabled(boolean)} value
+		 */
+		private static final int PROPERTY_RIPPLE_EFFECT_ENABLED = 1 << 5;
+
+		/**
+		 * Flag of the pending {@link #setPlatformRippleEffectEnabled(boolean)} value
+		 */
+		private static final int PROPERTY_PLATFORM_RIPPLE_EFFECT_ENABLED = 1 << 6;
+
+		/**
+		 * Flag of the pending {@link #setShadowRadius(float)} value
+		 */
+		private static final int PROPERTY_SHADOW_RADIUS = 1 << 7;
+
+		/**
+		 * Flag of the pending {@link #setShadowXOffset(float)} value
+		 */
+		private static final int PROPERTY_SHADOW_X_OFFSET = 1 << 8;
+
+		/**
+		 * Flag of the pending {@link #setShadowYOffset(float)} value
+		 */
+		private static final int PROPERTY_SHADOW_Y_OFFSET = 1 << 9;
+
+		/**
+		 * Flag of the pending {@link #setShadowColor(int)} value
+		 */
+		private static final int PROPERTY_SHADOW_COLOR = 1 << 10;
+
+		/**
+		 * Flag of the pending {@link #setShadowResponsiveEffectEnabled(boolean)} value
+		 */
+		private static final int PROPERTY_SHADOW_RESPONSIVE_EFFECT_ENABLED = 1 << 11;
+
+		/**
+		 * Flag of the pending {@link #setHardwareRenderingEnabled(boolean)} value
+		 */
+		private static final int PROPERTY_HARDWARE_RENDERING_ENABLED = 1 << 12;
+
+		/**
+		 * Flag of the pending {@link #setShadowRenderer(ShadowRenderer)} value
+		 */
+		private static final int PROPERTY_SHADOW_RENDERER = 1 << 13;
+
+		/**
+		 * Flag of the pending {@link #setStrokeWidth(float)} value
+		 */
+		private static final int PROPERTY_STROKE_WIDTH = 1 << 14;
+
+		/**
+		 * Flag of the pending {@link #setStrokeColor(int)} value
+		 */
+		private static final int PROPERTY_STROKE_COLOR = 1 << 15;
+
+		/**
+		 * Flag of the pending {@link #setImageDrawable(Drawable)} value
+		 */
+		private static final int PROPERTY_IMAGE_DRAWABLE = 1 << 16;
+
+		/**
+		 * Flag of the pending {@link #setImageResource(int)} value
+		 */
+		private static final int PROPERTY_IMAGE_RESOURCE = 1 << 17;
+
+		/**
+		 * Flag of the pending {@link #setImageSize(float)} value
+		 */
+		private static final int PROPERTY_IMAGE_SIZE = 1 << 18;
+
+		/**
+		 * Flag of the pending {@link #setFixedFootprint(float)} value
+		 */
+		private static final int PROPERTY_FIXED_FOOTPRINT = 1 << 19;
+
+		/**
+		 * Flags of the properties, which have the pending values
+		 */
+		private int pendingProperties;
+
+		/**
+		 * Pending {@link #setType(Type)} value
+		 */
+		private Type type;
+
+		/**
+		 * Pending {@link #setSize(float)} value
+		 */
+		private float size;
+
+		/**
+		 * Pending {@link #setButtonColor(int)} value
+		 */
+		private int buttonColor;
+
+		/**
+		 * Pending {@link #setButtonColorPressed(int)} value
+		 */
+		private int buttonColorPressed;
+
+		/**
+		 * Pending {@link #setButtonColorRipple(int)} value
+		 */
+		private int buttonColorRipple;
+
+		/**
+		 * Pending {@link #setRippleEffectEnabled(boolean)} value
+		 */
+		private boolean rippleEffectEnabled;
+
+		/**
+		 * Pending {@link #setPlatformRippleEffectEnabled(boolean)} value
+		 */
+		private boolean platformRippleEffectEnabled;
+
+		/**
+		 * Pending {@link #setShadowRadius(float)} value
+		 */
+		private float shadowRadius;
+
+		/**
+		 * Pending {@link #setShadowXOffset(float)} value
+		 */
+		private float shadowXOffset;
+
+		/**
+		 * Pending {@link #setShadowYOffset(float)} value
+		 */
+		private float shadowYOffset;
+
+		/**
+		 * Pending {@link #setShadowColor(int)} value
+		 */
+		private int shadowColor;
+
+		/**
+		 * Pending {@link #setShadowResponsiveEffectEnabled(boolean)} value
+		 */
+		private boolean shadowResponsiveEffectEnabled;
+
+		/**
+		 * Pending {@link #setHardwareRenderingEnabled(boolean)} value
+		 */
+		private boolean hardwareRenderingEnabled;
+
+		/**
+		 * Pending {@link #setShadowRenderer(ShadowRenderer)} value
+		 */
+		private ShadowRenderer shadowRenderer;
+
+		/**
+		 * Pending {@link #setStrokeWidth(float)} value
+		 */
+		private float strokeWidth;
+
+		/**
+		 * Pending {@link #setStrokeColor(int)} value
+		 */
+		private int strokeColor;
+
+		/**
+		 * Pending {@link #setImageDrawable(Drawable)} value
+		 */
+		private Drawable imageDrawable;
+
+		/**
+		 * Pending {@link #setImageResource(int)} value
+		 */
+		private int imageResource;
+
+		/**
+		 * Pending {@link #setImageSize(float)} value
+		 */
+		private float imageSize;
+
+		/**
+		 * Pending {@link #setFixedFootprint(float)} value
+		 */
+		private float fixedFootprint;
+
+		/**
+		 * Creates the {@link Editor} instance
+		 */
+		private Editor() {
+		}
+
+		/**
+		 * Sets the <b>Action Button</b> type
+		 *
+		 * @param type new value
+		 * @return this editor
+		 * @see ActionButton#setType(Type)
+		 */
+		public Editor setType(Type type) {
+			this.type = type;
+			return pending(PROPERTY_TYPE);
+		}
+
+		/**
+		 * Sets the <b>Action Button</b> size in density-independent (dp) pixels
+		 *
+		 * @param size new value
+		 * @return this editor
+		 * @see ActionButton#setSize(float)
+		 */
+		public Editor setSize(float size) {
+			this.size = size;
+			return pending(PROPERTY_SIZE);
+		}
+
+		/**
+		 * Sets the <b>Action Button</b> color when in {@link State#NORMAL} state
+		 *
+		 * @param buttonColor new value
+		 * @return this editor
+		 * @see ActionButton#setButtonColor(int)
+		 */
+		public Editor setButtonColor(int buttonColor) {
+			this.buttonColor = buttonColor;
+			return pending(PROPERTY_BUTTON_COLOR);
+		}
+
+		/**
+		 * Sets the <b>Action Button</b> color when in {@link State#PRESSED} state
+		 *
+		 * @param buttonColorPressed new value
+		 * @return this editor
+		 * @see ActionButton#setButtonColorPressed(int)
+		 */
+		public Editor setButtonColorPressed(int buttonColorPressed) {
+			this.buttonColorPressed = buttonColorPressed;
+			return pending(PROPERTY_BUTTON_COLOR_PRESSED);
+		}
+
+		/**
+		 * Sets the <b>Action Button</b> Ripple Effect color
+		 *
+		 * @param buttonColorRipple new value
+		 * @return this editor
+		 * @see ActionButton#setButtonColorRipple(int)
+		 */
+		public Editor setButtonColorRipple(int buttonColorRipple) {
+			this.buttonColorRipple = buttonColorRipple;
+			return pending(PROPERTY_BUTTON_COLOR_RIPPLE);
+		}
+
+		/**
+		 * Sets whether the Ripple Effect is enabled
+		 *
+		 * @param enabled new value
+		 * @return this editor
+		 * @see ActionButton#setRippleEffectEnabled(boolean)
+		 */
+		public Editor setRippleEffectEnabled(boolean enabled) {
+			this.rippleEffectEnabled = enabled;
+			return pending(PROPERTY_RIPPLE_EFFECT_ENABLED);
+		}
+
+		/**
+		 * Sets whether the platform Ripple Effect is enabled
+		 *
+		 * @param platformRippleEffectEnabled new value
+		 * @return this editor
+		 * @see ActionButton#setPlatformRippleEffectEnabled(boolean)
+		 */
+		public Editor setPlatformRippleEffectEnabled(boolean platformRippleEffectEnabled) {
+			this.platformRippleEffectEnabled = platformRippleEffectEnabled;
+			return pending(PROPERTY_PLATFORM_RIPPLE_EFFECT_ENABLED);
+		}
+
+		/**
+		 * Sets the shadow radius in density-independent (dp) pixels
+		 *
+		 * @param shadowRadius new value
+		 * @return this editor
+		 * @see ActionButton#setShadowRadius(float)
+		 */
+		public Editor setShadowRadius(float shadowRadius) {
+			this.shadowRadius = shadowRadius;
+			return pending(PROPERTY_SHADOW_RADIUS);
+		}
+
+		/**
+		 * Sets the shadow X-axis offset in density-independent (dp) pixels
+		 *
+		 * @param shadowXOffset new value
+		 * @return this editor
+		 * @see ActionButton#setShadowXOffset(float)
+		 */
+		public Editor setShadowXOffset(float shadowXOffset) {
+			this.shadowXOffset = shadowXOffset;
+			return pending(PROPERTY_SHADOW_X_OFFSET);
+		}
+
+		/**
+		 * Sets the shadow Y-axis offset in density-independent (dp) pixels
+		 *
+		 * @param shadowYOffset new value
+		 * @return this editor
+		 * @see ActionButton#setShadowYOffset(float)
+		 */
+		public Editor setShadowYOffset(float shadowYOffset) {
+			this.shadowYOffset = shadowYOffset;
+			return pending(PROPERTY_SHADOW_Y_OFFSET);
+		}
+
+		/**
+		 * Sets the shadow color
+		 *
+		 * @param shadowColor new value
+		 * @return this editor
+		 * @see ActionButton#setShadowColor(int)
+		 */
+		public Editor setShadowColor(int shadowColor) {
+			this.shadowColor = shadowColor;
+			return pending(PROPERTY_SHADOW_COLOR);
+		}
+
+		/**
+		 * Sets whether the Shadow Responsive Effect is enabled
+		 *
+		 * @param shadowResponsiveEffectEnabled new value
+		 * @return this editor
+		 * @see ActionButton#setShadowResponsiveEffectEnabled(boolean)
+		 */
+		public Editor setShadowResponsiveEffectEnabled(boolean shadowResponsiveEffectEnabled) {
+			this.shadowResponsiveEffectEnabled = shadowResponsiveEffectEnabled;
+			return pending(PROPERTY_SHADOW_RESPONSIVE_EFFECT_ENABLED);
+		}
+
+		/**
+		 * Sets whether the hardware rendering is enabled
+		 *
+		 * @param hardwareRenderingEnabled new value
+		 * @return this editor
+		 * @see ActionButton#setHardwareRenderingEnabled(boolean)
+		 */
+		public Editor setHardwareRenderingEnabled(boolean hardwareRenderingEnabled) {
+			this.hardwareRenderingEnabled = hardwareRenderingEnabled;
+			return pending(PROPERTY_HARDWARE_RENDERING_ENABLED);
+		}
+
+		/**
+		 * Sets the shadow renderer
+		 *
+		 * @param shadowRenderer new value
+		 * @return this editor
+		 * @see ActionButton#setShadowRenderer(ShadowRenderer)
+		 */
+		public Editor setShadowRenderer(ShadowRenderer shadowRenderer) {
+			this.shadowRenderer = shadowRenderer;
+			return pending(PROPERTY_SHADOW_RENDERER);
+		}
+
+		/**
+		 * Sets the stroke width in density-independent (dp) pixels
+		 *
+		 * @param strokeWidth new value
+		 * @return this editor
+		 * @see ActionButton#setStrokeWidth(float)
+		 */
+		public Editor setStrokeWidth(float strokeWidth) {
+			this.strokeWidth = strokeWidth;
+			return pending(PROPERTY_STROKE_WIDTH);
+		}
+
+		/**
+		 * Sets the stroke color
+		 *
+		 * @param strokeColor new value
+		 * @return this editor
+		 * @see ActionButton#setStrokeColor(int)
+		 */
+		public Editor setStrokeColor(int strokeColor) {
+			this.strokeColor = strokeColor;
+			return pending(PROPERTY_STROKE_COLOR);
+		}
+
+		/**
+		 * Sets the image drawable
+		 *
+		 * @param image new value
+		 * @return this editor
+		 * @see ActionButton#setImageDrawable(Drawable)
+		 */
+		public Editor setImageDrawable(Drawable image) {
+			this.imageDrawable = image;
+			pendingProperties &= ~PROPERTY_IMAGE_RESOURCE;
+			return pending(PROPERTY_IMAGE_DRAWABLE);
+		}
+
+		/**
+		 * Sets the image drawable resource id
+		 *
+		 * @param resId new value
+		 * @return this editor
+		 * @see ActionButton#setImageResource(int)
+		 */
+		public Editor setImageResource(int resId) {
+			this.imageResource = resId;
+			pendingProperties &= ~PROPERTY_IMAGE_DRAWABLE;
+			return pending(PROPERTY_IMAGE_RESOURCE);
+		}
+
+		/**
+		 * Sets the image size in density-independent (dp) pixels
+		 *
+		 * @param size new value
+		 * @return this editor
+		 * @see ActionButton#setImageSize(float)
+		 */
+		public Editor setImageSize(float size) {
+			this.imageSize = size;
+			return pending(PROPERTY_IMAGE_SIZE);
+		}
+
+		/**
+		 * Sets the fixed footprint in density-independent (dp) pixels
+		 *
+		 * @param footprint new value
+		 * @return this editor
+		 * @see ActionButton#setFixedFootprint(float)
+		 */
+		public Editor setFixedFootprint(float footprint) {
+			this.fixedFootprint = footprint;
+			return pending(PROPERTY_FIXED_FOOTPRINT);
+		}
+
+		/**
+		 * Marks the property as having the pending value
+		 *
+		 * @param property flag of the property
+		 * @return this editor
+		 */
+		private Editor pending(int property) {
+			pendingProperties |= property;
+			return this;
+		}
+
+		/**
+		 * Drops the pending values, which are not applied yet
+		 */
+		private void clear() {
+			pendingProperties = 0;
+			imageDrawable = null;
+		}
+
+		/**
+		 * Sets the pending values and applies the accumulated changes
+		 */
+		public void apply() {
+			int properties = pendingProperties;
+			pendingProperties = 0;
+			batching = true;
+			try {
+				while (properties != 0) {
+					int property = Integer.lowestOneBit(properties);
+					properties &= ~property;
+					applyProperty(property);
+				}
+			} finally {
+				batching = false;
+				imageDrawable = null;
+			}
+			applyChanges();
+		}
+
+		/**
+		 * Sets the pending value of the property
+		 *
+		 * @param property flag of the property
+		 */
+		private void applyProperty(int property) {
+			switch (property) {
+				case PROPERTY_TYPE:
+					ActionButton.this.setType(type);
+					break;
+				case PROPERTY_SIZE:
+					ActionButton.this.setSize(size);
+					break;
+				case PROPERTY_BUTTON_COLOR:
+					ActionButton.this.setButtonColor(buttonColor);
+					break;
+				case PROPERTY_BUTTON_COLOR_PRESSED:
+					ActionButton.this.setButtonColorPressed(buttonColorPressed);
+					break;
+				case PROPERTY_BUTTON_COLOR_RIPPLE:
+					ActionButton.this.setButtonColorRipple(buttonColorRipple);
+					break;
+				case PROPERTY_RIPPLE_EFFECT_ENABLED:
+					ActionButton.this.setRippleEffectEnabled(rippleEffectEnabled);
+					break;
+				case PROPERTY_PLATFORM_RIPPLE_EFFECT_ENABLED:
+					ActionButton.this.setPlatformRippleEffectEnabled(platformRippleEffectEnabled);
+					break;
+				case PROPERTY_SHADOW_RADIUS:
+					ActionButton.this.setShadowRadius(shadowRadius);
+					break;
+				case PROPERTY_SHADOW_X_OFFSET:
+					ActionButton.this.setShadowXOffset(shadowXOffset);
+					break;
+				case PROPERTY_SHADOW_Y_OFFSET:
+					ActionButton.this.setShadowYOffset(shadowYOffset);
+					break;
+				case PROPERTY_SHADOW_COLOR:
+					ActionButton.this.setShadowColor(shadowColor);
+					break;
+				case PROPERTY_SHADOW_RESPONSIVE_EFFECT_ENABLED:
+					ActionButton.this.setShadowResponsiveEffectEnabled(shadowResponsiveEffectEnabled);
+					break;
+				case PROPERTY_HARDWARE_RENDERING_ENABLED:
+					ActionButton.this.setHardwareRenderingEnabled(hardwareRenderingEnabled);
+					break;
+				case PROPERTY_SHADOW_RENDERER:
+					ActionButton.this.setShadowRenderer(shadowRenderer);
+					break;
+				case PROPERTY_STROKE_WIDTH:
+					ActionButton.this.setStrokeWidth(strokeWidth);
+					break;
+				case PROPERTY_STROKE_COLOR:
+					ActionButton.this.setStrokeColor(strokeColor);
+					break;
+				case PROPERTY_IMAGE_DRAWABLE:
+					ActionButton.this.setImageDrawable(imageDrawable);
+					break;
+				case PROPERTY_IMAGE_RESOURCE:
+					ActionButton.this.setImageResource(imageResource);
+					break;
+				case PROPERTY_IMAGE_SIZE:
+					ActionButton.this.setImageSize(imageSize);
+					break;
+				case PROPERTY_FIXED_FOOTPRINT:
+					ActionButton.this.setFixedFootprint(fixedFootprint);
+					break;
+				default:
+					break;
+			}
+		}
+
+	}
+
 	/**
 	 * Determines the <b>Action Button</b> types 
 	 */
@@ -1772,6 +3559,64 @@ public class ActionButton extends View {
 		
 	}
 
+	/**
+	 * Determines the <b>Action Button</b> shadow renderers
+	 */
+	public enum ShadowRenderer {
+
+		/**
+		 * Shadow is drawn by blurring the circle either with the shadow layer
+		 * or from the pre-blurred mask if hardware rendering enabled
+		 */
+		BLUR(0),
+
+		/**
+		 * Shadow is drawn with the radial gradient, which approximates the blurred circle
+		 */
+		GRADIENT(1);
+
+		/**
+		 * An {@code id}, which is defined in attributes
+		 */
+		private final int id;
+
+		/**
+		 * Creates the {@link ShadowRenderer} instance
+		 *
+		 * @param id an {@code id}, which is defined in attributes
+		 */
+		ShadowRenderer(int id) {
+			this.id = id;
+		}
+
+		/**
+		 * Returns an {@code id} for specific shadow renderer,
+		 * which is defined in attributes
+		 *
+		 * @return {@code id} for particular shadow renderer,
+		 * which is defined in attributes
+		 */
+		int getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the shadow renderer for a specific {@code id}
+		 *
+		 * @param id an {@code id}, for which shadow renderer required
+		 * @return shadow renderer
+		 */
+		static ShadowRenderer forId(int id) {
+			for (ShadowRenderer renderer : values()) {
+				if (renderer.getId() == id) {
+					return renderer;
+				}
+			}
+			return BLUR;
+		}
+
+	}
+
 	/**
 	 * Determines the <b>Action Button</b> states 
 	 */
@@ -1876,7 +3721,12 @@ public class ActionButton extends View {
 		 * @return loaded animation
 		 */
 		protected static Animation load(Context context, int animResId) {
-			return animResId == NONE.animResId ? null : AnimationUtils.loadAnimation(context, animResId);
+			boolean traced = Tracing.beginSection("ActionButton.Animations#load");
+			try {
+				return animResId == NONE.animResId ? null : AnimationUtils.loadAnimation(context, animResId);
+			} finally {
+				Tracing.endSection(traced);
+			}
 		}
 
 	}
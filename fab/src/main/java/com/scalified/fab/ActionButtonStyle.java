@@ -0,0 +1,237 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.annotation.TargetApi;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+
+/**
+ * Immutable snapshot of the <b>Action Button</b> attributes, which are resolved
+ * from the XML tag, the default style and the theme
+ * <p>
+ * Attributes are read in a single pass over the values present in the {@link TypedArray},
+ * so that the snapshot may be shared by all of the <b>Action Buttons</b> inflated with
+ * the same attributes. The image is kept as the {@link Drawable.ConstantState}, so that
+ * each <b>Action Button</b> gets its own drawable without loading the resource again.
+ * Images, which don't provide the constant state, are loaded from the resource for
+ * each <b>Action Button</b> instead
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+final class ActionButtonStyle {
+
+	/**
+	 * Attribute, which is not read into the snapshot
+	 */
+	private static final int KIND_NONE = 0;
+
+	/**
+	 * Dimension attribute
+	 */
+	private static final int KIND_DIMENSION = 1;
+
+	/**
+	 * Color attribute
+	 */
+	private static final int KIND_COLOR = 2;
+
+	/**
+	 * Boolean attribute
+	 */
+	private static final int KIND_BOOLEAN = 3;
+
+	/**
+	 * Integer or enum attribute
+	 */
+	private static final int KIND_INTEGER = 4;
+
+	/**
+	 * Resource reference attribute
+	 */
+	private static final int KIND_RESOURCE = 5;
+
+	/**
+	 * Kinds of the attributes indexed by the {@link R.styleable#ActionButton} indexes
+	 */
+	private static final int[] KINDS = resolveKinds();
+
+	/**
+	 * Flags of the attributes, which are present, indexed by the
+	 * {@link R.styleable#ActionButton} indexes
+	 */
+	private final boolean[] present = new boolean[KINDS.length];
+
+	/**
+	 * Values of the dimension attributes
+	 */
+	private final float[] dimensions = new float[KINDS.length];
+
+	/**
+	 * Values of the color, boolean, integer and resource reference attributes
+	 */
+	private final int[] values = new int[KINDS.length];
+
+	/**
+	 * Constant state of the image drawable or null if the image is not set
+	 * or doesn't provide the constant state
+	 */
+	private final Drawable.ConstantState imageState;
+
+	/**
+	 * Creates the {@link ActionButtonStyle} instance by reading the values
+	 * present in the specified attributes
+	 *
+	 * @param attrs resolved attributes, which are not recycled
+	 */
+	ActionButtonStyle(TypedArray attrs) {
+		int count = attrs.getIndexCount();
+		for (int i = 0; i < count; i++) {
+			int index = attrs.getIndex(i);
+			if (index < 0 || index >= KINDS.length || KINDS[index] == KIND_NONE) {
+				continue;
+			}
+			switch (KINDS[index]) {
+				case KIND_DIMENSION:
+					dimensions[index] = attrs.getDimension(index, 0.0f);
+					break;
+				case KIND_COLOR:
+					values[index] = attrs.getColor(index, 0);
+					break;
+				case KIND_BOOLEAN:
+					values[index] = attrs.getBoolean(index, false) ? 1 : 0;
+					break;
+				case KIND_INTEGER:
+					values[index] = attrs.getInteger(index, 0);
+					break;
+				case KIND_RESOURCE:
+					values[index] = attrs.getResourceId(index, 0);
+					break;
+			}
+			present[index] = true;
+		}
+		Drawable image = has(R.styleable.ActionButton_image) ? attrs.getDrawable(R.styleable.ActionButton_image) : null;
+		imageState = image != null ? image.getConstantState() : null;
+	}
+
+	/**
+	 * Checks whether the attribute is present
+	 *
+	 * @param index {@link R.styleable#ActionButton} index of the attribute
+	 * @return true if the attribute is present, otherwise false
+	 */
+	boolean has(int index) {
+		return present[index];
+	}
+
+	/**
+	 * Returns the value of the dimension attribute
+	 *
+	 * @param index {@link R.styleable#ActionButton} index of the attribute
+	 * @param defaultValue value returned if the attribute is not present
+	 * @return value of the dimension attribute in actual pixels (px)
+	 */
+	float getDimension(int index, float defaultValue) {
+		return present[index] ? dimensions[index] : defaultValue;
+	}
+
+	/**
+	 * Returns the value of the color, integer or resource reference attribute
+	 *
+	 * @param index {@link R.styleable#ActionButton} index of the attribute
+	 * @param defaultValue value returned if the attribute is not present
+	 * @return value of the attribute
+	 */
+	int getInt(int index, int defaultValue) {
+		return present[index] ? values[index] : defaultValue;
+	}
+
+	/**
+	 * Returns the value of the boolean attribute
+	 *
+	 * @param index {@link R.styleable#ActionButton} index of the attribute
+	 * @param defaultValue value returned if the attribute is not present
+	 * @return value of the boolean attribute
+	 */
+	boolean getBoolean(int index, boolean defaultValue) {
+		return present[index] ? values[index] != 0 : defaultValue;
+	}
+
+	/**
+	 * Creates the new image drawable from the snapshot
+	 * <p>
+	 * The drawable is loaded from the image resource if its constant state
+	 * is not available
+	 *
+	 * @param resources resources, which the drawable is created for
+	 * @param theme theme, which the drawable is created for
+	 * @return new image drawable or null if the image is not set
+	 */
+	@SuppressWarnings("deprecation")
+	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+	Drawable newImage(Resources resources, Resources.Theme theme) {
+		if (imageState != null) {
+			return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ?
+					imageState.newDrawable(resources, theme) : imageState.newDrawable(resources);
+		}
+		int resId = getInt(R.styleable.ActionButton_image, 0);
+		if (resId == 0) {
+			return null;
+		}
+		return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ?
+				resources.getDrawable(resId, theme) : resources.getDrawable(resId);
+	}
+
+	/**
+	 * Maps the {@link R.styleable#ActionButton} indexes to the kinds of the attributes
+	 *
+	 * @return kinds of the attributes indexed by the {@link R.styleable#ActionButton} indexes
+	 */
+	private static int[] resolveKinds() {
+		int[] kinds = new int[R.styleable.ActionButton.length];
+		kinds[R.styleable.ActionButton_type] = KIND_INTEGER;
+		kinds[R.styleable.ActionButton_size] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_button_color] = KIND_COLOR;
+		kinds[R.styleable.ActionButton_button_colorPressed] = KIND_COLOR;
+		kinds[R.styleable.ActionButton_rippleEffect_enabled] = KIND_BOOLEAN;
+		kinds[R.styleable.ActionButton_button_colorRipple] = KIND_COLOR;
+		kinds[R.styleable.ActionButton_rippleEffect_maxCount] = KIND_INTEGER;
+		kinds[R.styleable.ActionButton_platformRippleEffect_enabled] = KIND_BOOLEAN;
+		kinds[R.styleable.ActionButton_shadow_radius] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_shadow_xOffset] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_shadow_yOffset] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_shadow_color] = KIND_COLOR;
+		kinds[R.styleable.ActionButton_shadowResponsiveEffect_enabled] = KIND_BOOLEAN;
+		kinds[R.styleable.ActionButton_hardwareRendering_enabled] = KIND_BOOLEAN;
+		kinds[R.styleable.ActionButton_shadow_renderer] = KIND_INTEGER;
+		kinds[R.styleable.ActionButton_stroke_width] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_stroke_color] = KIND_COLOR;
+		kinds[R.styleable.ActionButton_show_animation] = KIND_RESOURCE;
+		kinds[R.styleable.ActionButton_hide_animation] = KIND_RESOURCE;
+		kinds[R.styleable.ActionButton_image] = KIND_RESOURCE;
+		kinds[R.styleable.ActionButton_image_size] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_fixed_footprint] = KIND_DIMENSION;
+		kinds[R.styleable.ActionButton_animation_onShow] = KIND_RESOURCE;
+		kinds[R.styleable.ActionButton_animation_onHide] = KIND_RESOURCE;
+		return kinds;
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Drives the animation frames of all of the <b>Action Buttons</b> within
+ * the same window
+ * <p>
+ * Instead of posting a callback per view, the views schedule their next frame
+ * tasks on the ticker of their window, which registers a single
+ * {@link Choreographer.FrameCallback} and runs all of the scheduled tasks in one
+ * tick. The frame callback is not registered again until the next task is
+ * scheduled, so nothing is done while none of the views is animating
+ * <p>
+ * Must be used from the UI thread only. Might be used if target API is
+ * {@code JELLY_BEAN (16)} and higher
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+final class AnimationTicker implements Choreographer.FrameCallback {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(AnimationTicker.class);
+
+	/**
+	 * Tickers mapped to the root views of the windows, which they drive
+	 */
+	private static final Map<View, AnimationTicker> TICKERS = new WeakHashMap<>();
+
+	/**
+	 * Tasks, which are scheduled for the next tick
+	 */
+	private final List<Runnable> scheduledTasks = new ArrayList<>();
+
+	/**
+	 * Tasks, which are run within the current tick
+	 */
+	private final List<Runnable> tickTasks = new ArrayList<>();
+
+	/**
+	 * Determines whether the frame callback is registered
+	 */
+	private boolean registered;
+
+	/**
+	 * Creates the {@link AnimationTicker} instance
+	 */
+	private AnimationTicker() {
+	}
+
+	/**
+	 * Returns the ticker of the window, which the specified view belongs to
+	 * <p>
+	 * The ticker is created on the first call for the window
+	 *
+	 * @param view view, which the ticker is required for
+	 * @return ticker of the view window
+	 */
+	static AnimationTicker forView(View view) {
+		View root = view.getRootView();
+		AnimationTicker ticker = TICKERS.get(root);
+		if (ticker == null) {
+			ticker = new AnimationTicker();
+			TICKERS.put(root, ticker);
+			LOGGER.trace("Created the animation ticker");
+		}
+		return ticker;
+	}
+
+	/**
+	 * Schedules the specified task to be run on the next tick
+	 * <p>
+	 * The task must not be scheduled again until it is run or cancelled
+	 *
+	 * @param task task to be run on the next tick
+	 */
+	void schedule(Runnable task) {
+		scheduledTasks.add(task);
+		if (!registered) {
+			Choreographer.getInstance().postFrameCallback(this);
+			registered = true;
+			LOGGER.trace("Registered the animation ticker frame callback");
+		}
+	}
+
+	/**
+	 * Cancels the specified task if it is scheduled
+	 * <p>
+	 * The frame callback is unregistered if no tasks left
+	 *
+	 * @param task task to be cancelled
+	 */
+	void cancel(Runnable task) {
+		scheduledTasks.remove(task);
+		if (scheduledTasks.isEmpty() && registered) {
+			Choreographer.getInstance().removeFrameCallback(this);
+			registered = false;
+			LOGGER.trace("Unregistered the animation ticker frame callback");
+		}
+	}
+
+	/**
+	 * Runs all of the tasks, which were scheduled for this tick
+	 * <p>
+	 * Tasks, which are scheduled while running, are run on the next tick
+	 *
+	 * @param frameTimeNanos frame start time in nanoseconds
+	 */
+	@Override
+	public void doFrame(long frameTimeNanos) {
+		registered = false;
+		for (int i = 0; i < scheduledTasks.size(); i++) {
+			tickTasks.add(scheduledTasks.get(i));
+		}
+		scheduledTasks.clear();
+		for (int i = 0; i < tickTasks.size(); i++) {
+			tickTasks.get(i).run();
+		}
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Ticked {} animation tasks", tickTasks.size());
+		}
+		tickTasks.clear();
+	}
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.View;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide in-memory history of the <b>Action Button</b> diagnostic events,
+ * such as drawing, touching and invalidation
+ * <p>
+ * Events are stored in the fixed-size ring buffer of primitive records, which is
+ * allocated once, so that recording neither allocates nor locks and is cheap enough
+ * to stay enabled in production. Once the buffer is full the oldest events are
+ * overwritten
+ * <p>
+ * The history may be dumped on demand, for example while collecting the bug report
+ * or after an ANR. Events, which are being overwritten while dumping, are skipped
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class DiagnosticLog {
+
+	/**
+	 * <b>Action Button</b> drawn
+	 */
+	static final int EVENT_DRAW = 0;
+
+	/**
+	 * Motion event received: action, X- and Y-axis coordinates
+	 */
+	static final int EVENT_TOUCH = 1;
+
+	/**
+	 * Region invalidation scheduled for the next animation frame:
+	 * left, top, right and bottom edges or none if the entire view is scheduled
+	 */
+	static final int EVENT_INVALIDATION_SCHEDULED = 2;
+
+	/**
+	 * Scheduled invalidation performed
+	 */
+	static final int EVENT_INVALIDATION_PERFORMED = 3;
+
+	/**
+	 * Ripple started: X- and Y-axis coordinates of the ripple center
+	 */
+	static final int EVENT_RIPPLE_STARTED = 4;
+
+	/**
+	 * Ripple released
+	 */
+	static final int EVENT_RIPPLE_RELEASED = 5;
+
+	/**
+	 * Last ripple of the Ripple Effect finished
+	 */
+	static final int EVENT_RIPPLE_ENDED = 6;
+
+	/**
+	 * Shadow Responsive Effect stepped: current shadow radius
+	 */
+	static final int EVENT_SHADOW_RESPONSE = 7;
+
+	/**
+	 * Invalidation scheduled while idle or UI thread woken up while hidden or detached
+	 */
+	static final int EVENT_IDLE_WAKEUP = 8;
+
+	/**
+	 * Names of the events indexed by the event types
+	 */
+	private static final String[] EVENT_NAMES = {"DRAW", "TOUCH", "INVALIDATION_SCHEDULED",
+			"INVALIDATION_PERFORMED", "RIPPLE_STARTED", "RIPPLE_RELEASED", "RIPPLE_ENDED", "SHADOW_RESPONSE",
+			"IDLE_WAKEUP"};
+
+	/**
+	 * Number of the records in the ring buffer, must be a power of two
+	 */
+	private static final int CAPACITY = 1024;
+
+	/**
+	 * Number of the float arguments in the single record
+	 */
+	private static final int ARGS_COUNT = 4;
+
+	/**
+	 * Sequence number of the next event
+	 */
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	/**
+	 * Sequence numbers of the events, which the records hold, incremented by one,
+	 * or zero while the record is being written
+	 */
+	private static final AtomicLongArray SEQUENCES = new AtomicLongArray(CAPACITY);
+
+	/**
+	 * Event timestamps in nanoseconds
+	 */
+	private static final long[] TIMES = new long[CAPACITY];
+
+	/**
+	 * Event types
+	 */
+	private static final int[] TYPES = new int[CAPACITY];
+
+	/**
+	 * Identity hash codes of the <b>Action Buttons</b>, which recorded the events
+	 */
+	private static final int[] IDS = new int[CAPACITY];
+
+	/**
+	 * Event arguments, {@link #ARGS_COUNT} per record
+	 */
+	private static final float[] ARGS = new float[CAPACITY * ARGS_COUNT];
+
+	/**
+	 * Determines whether events are recorded
+	 */
+	private static volatile boolean enabled = true;
+
+	/**
+	 * Prevents the {@link DiagnosticLog} from being instantiated
+	 */
+	private DiagnosticLog() {
+	}
+
+	/**
+	 * Checks whether events are recorded
+	 *
+	 * @return true if events are recorded, otherwise false
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables recording of the events
+	 * <p>
+	 * Events are recorded by default
+	 *
+	 * @param enabled true to record events, otherwise false
+	 */
+	public static void setEnabled(boolean enabled) {
+		DiagnosticLog.enabled = enabled;
+	}
+
+	/**
+	 * Writes the recorded events to the specified writer, the oldest first
+	 *
+	 * @param writer writer, which the events are written to
+	 */
+	public static void dump(PrintWriter writer) {
+		long end = SEQUENCE.get();
+		long start = Math.max(0L, end - CAPACITY);
+		float[] args = new float[ARGS_COUNT];
+		writer.println("Action Button diagnostic events:");
+		for (long sequence = start; sequence < end; sequence++) {
+			int index = (int) (sequence & (CAPACITY - 1));
+			if (SEQUENCES.get(index) != sequence + 1) {
+				continue;
+			}
+			long time = TIMES[index];
+			int type = TYPES[index];
+			int id = IDS[index];
+			System.arraycopy(ARGS, index * ARGS_COUNT, args, 0, ARGS_COUNT);
+			// Compare-and-set instead of the plain volatile read, so that the reads
+			// above can't be reordered after the check
+			if (!SEQUENCES.compareAndSet(index, sequence + 1, sequence + 1)) {
+				continue;
+			}
+			writer.println(String.format(Locale.US, "%d %.3f ms %s #%08x [%.2f, %.2f, %.2f, %.2f]",
+					sequence, time / 1000000.0, getEventName(type), id, args[0], args[1], args[2], args[3]));
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Records the event without arguments
+	 *
+	 * @param type event type
+	 * @param view <b>Action Button</b>, which the event belongs to
+	 */
+	static void record(int type, View view) {
+		record(type, view, 0.0f, 0.0f, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Records the event with the specified arguments
+	 * <p>
+	 * Must be called on the UI thread only, since the record is written without
+	 * locking on the assumption that there is the single writer
+	 *
+	 * @param type event type
+	 * @param view <b>Action Button</b>, which the event belongs to
+	 * @param arg1 first argument
+	 * @param arg2 second argument
+	 * @param arg3 third argument
+	 * @param arg4 fourth argument
+	 */
+	static void record(int type, View view, float arg1, float arg2, float arg3, float arg4) {
+		if (!enabled) {
+			return;
+		}
+		long sequence = SEQUENCE.getAndIncrement();
+		int index = (int) (sequence & (CAPACITY - 1));
+		// Get-and-set instead of the plain volatile write, so that the writes
+		// below can't be reordered before the record is marked as being written
+		SEQUENCES.getAndSet(index, 0L);
+		TIMES[index] = System.nanoTime();
+		TYPES[index] = type;
+		IDS[index] = System.identityHashCode(view);
+		int argsIndex = index * ARGS_COUNT;
+		ARGS[argsIndex] = arg1;
+		ARGS[argsIndex + 1] = arg2;
+		ARGS[argsIndex + 2] = arg3;
+		ARGS[argsIndex + 3] = arg4;
+		SEQUENCES.lazySet(index, sequence + 1);
+	}
+
+	/**
+	 * Returns the name of the specified event type
+	 *
+	 * @param type event type
+	 * @return name of the event type
+	 */
+	private static String getEventName(int type) {
+		return type >= 0 && type < EVENT_NAMES.length ? EVENT_NAMES[type] : String.valueOf(type);
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
+
+/**
+ * Time-based progress of the <b>Action Button</b> effect animation
+ * <p>
+ * Progress is calculated from the frame timestamps rather than counted in frames,
+ * so that the effect takes the same time regardless of the display refresh rate,
+ * and the dropped frames are skipped instead of being replayed
+ * <p>
+ * Animation may be played in both directions and reversed in the middle,
+ * continuing from the current progress. Timestamps must be in the
+ * {@link android.os.SystemClock#uptimeMillis()} time base, as the
+ * {@link AnimationUtils#currentAnimationTimeMillis()} and the
+ * {@link android.view.MotionEvent#getEventTime()} are
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+final class EffectAnimation {
+
+	/**
+	 * Interpolator, which is applied to the linear progress
+	 */
+	private final Interpolator interpolator;
+
+	/**
+	 * Duration of the entire animation in milliseconds
+	 */
+	private final long duration;
+
+	/**
+	 * Linear progress within {@code [0.0f, 1.0f]} range
+	 */
+	private float fraction;
+
+	/**
+	 * Timestamp, which the {@link #fraction} was calculated for
+	 */
+	private long lastTime;
+
+	/**
+	 * Determines whether the animation is played forward
+	 */
+	private boolean forward;
+
+	/**
+	 * Creates the {@link EffectAnimation} instance at its start
+	 *
+	 * @param duration duration of the entire animation in milliseconds
+	 * @param interpolator interpolator, which is applied to the linear progress
+	 */
+	EffectAnimation(long duration, Interpolator interpolator) {
+		this.duration = duration;
+		this.interpolator = interpolator;
+	}
+
+	/**
+	 * Returns the current animation time, which is the current frame time
+	 * while drawing
+	 *
+	 * @return current animation time in milliseconds
+	 */
+	static long currentTime() {
+		return AnimationUtils.currentAnimationTimeMillis();
+	}
+
+	/**
+	 * Restarts the animation forward from its start at the specified time
+	 *
+	 * @param time start time in milliseconds
+	 */
+	void start(long time) {
+		fraction = 0.0f;
+		forward = true;
+		lastTime = time;
+	}
+
+	/**
+	 * Sets the direction of the animation at the specified time
+	 * <p>
+	 * The animation continues from its current progress. If the animation is finished,
+	 * it is started again at the specified time
+	 *
+	 * @param forward true to play the animation forward, false to play it backward
+	 * @param time time of the direction change in milliseconds
+	 */
+	void setForward(boolean forward, long time) {
+		if (this.forward == forward) {
+			return;
+		}
+		if (isRunning()) {
+			advance(time);
+		} else {
+			lastTime = time;
+		}
+		this.forward = forward;
+	}
+
+	/**
+	 * Advances the animation to the specified time
+	 * <p>
+	 * Times, which are earlier than the previous one, are ignored
+	 *
+	 * @param time frame time in milliseconds
+	 * @return true if the animation is still running, otherwise false
+	 */
+	boolean advance(long time) {
+		long elapsed = time - lastTime;
+		if (elapsed > 0) {
+			float step = duration > 0 ? (float) elapsed / duration : 1.0f;
+			fraction = Math.max(0.0f, Math.min(1.0f, fraction + (forward ? step : -step)));
+			lastTime = time;
+		}
+		return isRunning();
+	}
+
+	/**
+	 * Checks whether the animation hasn't reached its end in the current direction
+	 *
+	 * @return true if the animation is running, otherwise false
+	 */
+	boolean isRunning() {
+		return forward ? fraction < 1.0f : fraction > 0.0f;
+	}
+
+	/**
+	 * Returns the interpolated progress of the animation
+	 *
+	 * @return interpolated progress, which is {@code 0.0f} at the start
+	 *         and {@code 1.0f} at the end
+	 */
+	float getValue() {
+		return interpolator.getInterpolation(fraction);
+	}
+
+}
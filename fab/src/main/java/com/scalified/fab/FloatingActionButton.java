@@ -18,14 +18,10 @@ package com.scalified.fab;
 
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.view.animation.Animation;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * Deprecated since version <b>1.0.2</b>. Use {@link ActionButton}
  * class instead.
@@ -46,7 +42,7 @@ public class FloatingActionButton extends ActionButton {
 	 * Logger
 	 */
 	@SuppressWarnings("deprecation")
-	private static final Logger LOGGER = LoggerFactory.getLogger(FloatingActionButton.class);
+	private static final Logger LOGGER = Logger.getLogger(FloatingActionButton.class);
 	
 	@Deprecated
 	public FloatingActionButton(Context context) {
@@ -56,20 +52,20 @@ public class FloatingActionButton extends ActionButton {
 	@Deprecated
 	public FloatingActionButton(Context context, AttributeSet attrs) {
 		super(context, attrs);
-		initActionButton(context, attrs, 0, 0);
+		initActionButton();
 	}
 
 	@Deprecated
 	public FloatingActionButton(Context context, AttributeSet attrs, int defStyleAttr) {
 		super(context, attrs, defStyleAttr);
-		initActionButton(context, attrs, defStyleAttr, 0);
+		initActionButton();
 	}
 
 	@Deprecated
 	@TargetApi(Build.VERSION_CODES.LOLLIPOP)
 	public FloatingActionButton(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
 		super(context, attrs, defStyleAttr, defStyleRes);
-		initActionButton(context, attrs, defStyleAttr, defStyleRes);
+		initActionButton();
 	}
 
 	/**
@@ -149,25 +145,30 @@ public class FloatingActionButton extends ActionButton {
 		setHideAnimation(animation);
 	}
 
+	/**
+	 * Initializes the deprecated attributes from the snapshot of the attributes,
+	 * which is already resolved by the {@link ActionButton}, instead of resolving
+	 * the attributes again
+	 */
 	@SuppressWarnings("deprecation")
-	private void initActionButton(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
-		TypedArray attributes = context.getTheme().obtainStyledAttributes(attrs, R.styleable.ActionButton,
-				defStyleAttr, defStyleRes);
+	private void initActionButton() {
+		ActionButtonStyle style = getStyle();
+		if (style == null) {
+			return;
+		}
 		try {
-			initType(attributes);
-			initShowAnimation(attributes);
-			initHideAnimation(attributes);
+			initType(style);
+			initShowAnimation(style);
+			initHideAnimation(style);
 		} catch (Exception e) {
 			LOGGER.error("Failed to read the attribute", e);
-		} finally {
-			attributes.recycle();
 		}
 		LOGGER.trace("Initialized Floating Action Button");
 	}
 
-	private void initType(TypedArray attrs) {
-		if (attrs.hasValue(R.styleable.ActionButton_type)) {
-			final int id = attrs.getInteger(R.styleable.ActionButton_type, 0);
+	private void initType(ActionButtonStyle style) {
+		if (style.has(R.styleable.ActionButton_type)) {
+			final int id = style.getInt(R.styleable.ActionButton_type, 0);
 			setType(Type.forId(id));
 			LOGGER.trace("Initialized type: {}", getType());
 		}
@@ -179,12 +180,12 @@ public class FloatingActionButton extends ActionButton {
 	 * @deprecated since 1.0.2 and will be removed in version 2.0.0.
 	 * Use <b>show_animation</b> and <b>hide_animation</b> in XML instead 
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
 	@Deprecated
-	private void initShowAnimation(TypedArray attrs) {
-		if (attrs.hasValue(R.styleable.ActionButton_animation_onShow)) {
-			final int animResId = attrs.getResourceId(R.styleable.ActionButton_animation_onShow,
+	private void initShowAnimation(ActionButtonStyle style) {
+		if (style.has(R.styleable.ActionButton_animation_onShow)) {
+			final int animResId = style.getInt(R.styleable.ActionButton_animation_onShow,
 					Animations.NONE.animResId);
 			setShowAnimation(Animations.load(getContext(), animResId));
 		}
@@ -196,12 +197,12 @@ public class FloatingActionButton extends ActionButton {
 	 * @deprecated since 1.0.2 and will be removed in version 2.0.0
 	 * Use <b>show_animation</b> and <b>hide_animation</b> in XML instead 
 	 *
-	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param style snapshot of the resolved attributes
 	 */
 	@Deprecated
-	private void initHideAnimation(TypedArray attrs) {
-		if (attrs.hasValue(R.styleable.ActionButton_animation_onHide)) {
-			final int animResId = attrs.getResourceId(R.styleable.ActionButton_animation_onHide,
+	private void initHideAnimation(ActionButtonStyle style) {
+		if (style.has(R.styleable.ActionButton_animation_onHide)) {
+			final int animResId = style.getInt(R.styleable.ActionButton_animation_onHide,
 					Animations.NONE.animResId);
 			setHideAnimation(Animations.load(getContext(), animResId));
 		}
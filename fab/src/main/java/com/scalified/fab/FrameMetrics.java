@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+/**
+ * Metrics of the <b>Action Button</b> frames, which are accumulated over the batch
+ * of frames and reported to the {@link Listener}
+ * <p>
+ * The same instance is reused for all of the batches of the <b>Action Button</b>,
+ * so it must not be retained by the {@link Listener} after the report
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class FrameMetrics {
+
+	/**
+	 * Number of the drawn frames
+	 */
+	private int frameCount;
+
+	/**
+	 * Time spent drawing the main circle and the shadow in nanoseconds
+	 */
+	private long circleDrawTime;
+
+	/**
+	 * Time spent drawing the Ripple Effect in nanoseconds
+	 */
+	private long rippleDrawTime;
+
+	/**
+	 * Time spent drawing the stroke and the image in nanoseconds
+	 */
+	private long overlayDrawTime;
+
+	/**
+	 * Number of the frames drawn while the Ripple Effect was in progress
+	 */
+	private int rippleFrameCount;
+
+	/**
+	 * Number of the finished Ripple Effects
+	 */
+	private int rippleEffectCount;
+
+	/**
+	 * Number of the frames drawn while the Shadow Responsive Effect was in progress
+	 */
+	private int shadowResponseFrameCount;
+
+	/**
+	 * Number of the finished Shadow Responsive Effect animations
+	 */
+	private int shadowResponseCount;
+
+	/**
+	 * Number of the invalidations scheduled by the <b>Action Button</b> itself
+	 */
+	private int invalidationCount;
+
+	/**
+	 * Number of the measure passes
+	 */
+	private int measureCount;
+
+	/**
+	 * Number of the layout passes
+	 */
+	private int layoutCount;
+
+	/**
+	 * Creates the {@link FrameMetrics} instance
+	 */
+	FrameMetrics() {
+	}
+
+	/**
+	 * Returns the number of the drawn frames
+	 *
+	 * @return number of the drawn frames
+	 */
+	public int getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Returns the time spent drawing the main circle and the shadow
+	 *
+	 * @return time spent drawing the main circle and the shadow in nanoseconds
+	 */
+	public long getCircleDrawTime() {
+		return circleDrawTime;
+	}
+
+	/**
+	 * Returns the time spent drawing the Ripple Effect
+	 *
+	 * @return time spent drawing the Ripple Effect in nanoseconds
+	 */
+	public long getRippleDrawTime() {
+		return rippleDrawTime;
+	}
+
+	/**
+	 * Returns the time spent drawing the stroke and the image
+	 * <p>
+	 * The stroke and the image are drawn together from the cached layer,
+	 * so they are timed together
+	 *
+	 * @return time spent drawing the stroke and the image in nanoseconds
+	 */
+	public long getOverlayDrawTime() {
+		return overlayDrawTime;
+	}
+
+	/**
+	 * Returns the entire time spent drawing
+	 *
+	 * @return entire time spent drawing in nanoseconds
+	 */
+	public long getDrawTime() {
+		return circleDrawTime + rippleDrawTime + overlayDrawTime;
+	}
+
+	/**
+	 * Returns the number of the frames drawn while the Ripple Effect was in progress
+	 *
+	 * @return number of the frames drawn while the Ripple Effect was in progress
+	 */
+	public int getRippleFrameCount() {
+		return rippleFrameCount;
+	}
+
+	/**
+	 * Returns the number of the finished Ripple Effects
+	 *
+	 * @return number of the finished Ripple Effects
+	 */
+	public int getRippleEffectCount() {
+		return rippleEffectCount;
+	}
+
+	/**
+	 * Returns the number of the frames drawn while the Shadow Responsive Effect
+	 * was in progress
+	 *
+	 * @return number of the frames drawn while the Shadow Responsive Effect
+	 *         was in progress
+	 */
+	public int getShadowResponseFrameCount() {
+		return shadowResponseFrameCount;
+	}
+
+	/**
+	 * Returns the number of the finished Shadow Responsive Effect animations
+	 *
+	 * @return number of the finished Shadow Responsive Effect animations
+	 */
+	public int getShadowResponseCount() {
+		return shadowResponseCount;
+	}
+
+	/**
+	 * Returns the number of the invalidations, which the <b>Action Button</b>
+	 * scheduled itself to draw the next effect frames
+	 *
+	 * @return number of the invalidations scheduled by the <b>Action Button</b>
+	 */
+	public int getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	/**
+	 * Returns the number of the measure passes
+	 *
+	 * @return number of the measure passes
+	 */
+	public int getMeasureCount() {
+		return measureCount;
+	}
+
+	/**
+	 * Returns the number of the layout passes
+	 *
+	 * @return number of the layout passes
+	 */
+	public int getLayoutCount() {
+		return layoutCount;
+	}
+
+	/**
+	 * Adds the drawn frame with the specified drawing stage times
+	 *
+	 * @param circleDrawTime time spent drawing the main circle and the shadow in nanoseconds
+	 * @param rippleDrawTime time spent drawing the Ripple Effect in nanoseconds
+	 * @param overlayDrawTime time spent drawing the stroke and the image in nanoseconds
+	 */
+	void addFrame(long circleDrawTime, long rippleDrawTime, long overlayDrawTime) {
+		frameCount++;
+		this.circleDrawTime += circleDrawTime;
+		this.rippleDrawTime += rippleDrawTime;
+		this.overlayDrawTime += overlayDrawTime;
+	}
+
+	/**
+	 * Adds the frame drawn while the Ripple Effect was in progress
+	 */
+	void addRippleFrame() {
+		rippleFrameCount++;
+	}
+
+	/**
+	 * Adds the finished Ripple Effect
+	 */
+	void addRippleEffect() {
+		rippleEffectCount++;
+	}
+
+	/**
+	 * Adds the frame drawn while the Shadow Responsive Effect was in progress
+	 *
+	 * @param finished true if the Shadow Responsive Effect animation finished
+	 *                 within the frame, otherwise false
+	 */
+	void addShadowResponseFrame(boolean finished) {
+		shadowResponseFrameCount++;
+		if (finished) {
+			shadowResponseCount++;
+		}
+	}
+
+	/**
+	 * Adds the invalidation scheduled by the <b>Action Button</b>
+	 */
+	void addInvalidation() {
+		invalidationCount++;
+	}
+
+	/**
+	 * Adds the measure pass
+	 */
+	void addMeasure() {
+		measureCount++;
+	}
+
+	/**
+	 * Adds the layout pass
+	 */
+	void addLayout() {
+		layoutCount++;
+	}
+
+	/**
+	 * Checks whether anything is accumulated since the last reset
+	 *
+	 * @return true if nothing is accumulated, otherwise false
+	 */
+	boolean isEmpty() {
+		return frameCount == 0 && measureCount == 0 && layoutCount == 0;
+	}
+
+	/**
+	 * Resets all of the metrics to start the next batch
+	 */
+	void reset() {
+		frameCount = 0;
+		circleDrawTime = 0L;
+		rippleDrawTime = 0L;
+		overlayDrawTime = 0L;
+		rippleFrameCount = 0;
+		rippleEffectCount = 0;
+		shadowResponseFrameCount = 0;
+		shadowResponseCount = 0;
+		invalidationCount = 0;
+		measureCount = 0;
+		layoutCount = 0;
+	}
+
+	/**
+	 * Listener, which receives the <b>Action Button</b> frame metrics
+	 */
+	public interface Listener {
+
+		/**
+		 * Called on the UI thread once the batch of frames is drawn
+		 * or the <b>Action Button</b> is detached from the window
+		 *
+		 * @param actionButton <b>Action Button</b>, which the metrics belong to
+		 * @param metrics metrics of the batch, which must not be retained
+		 */
+		void onFrameMetrics(ActionButton actionButton, FrameMetrics metrics);
+
+	}
+
+}
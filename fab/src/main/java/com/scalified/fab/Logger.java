@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logging facade of the library, which delegates to the SLF4J logger
+ * <p>
+ * Trace logging is enabled only if {@link #TRACE_ENABLED} is set, which is a
+ * compile time constant in release builds, so that the trace calls are compiled
+ * down to nothing and may be stripped entirely by the shrinker. Primitive overloads
+ * are provided, so that the arguments are not boxed unless the message is logged
+ * <p>
+ * The SLF4J logger is obtained on the first message, which is actually logged,
+ * so that SLF4J is not initialized while loading the library classes and is not
+ * initialized at all if nothing is logged
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+final class Logger {
+
+	/**
+	 * Determines whether trace logging is enabled
+	 */
+	static final boolean TRACE_ENABLED = BuildConfig.DEBUG;
+
+	/**
+	 * Name of the SLF4J logger
+	 */
+	private final String name;
+
+	/**
+	 * SLF4J logger, which is obtained on the first use
+	 */
+	private volatile org.slf4j.Logger delegate;
+
+	/**
+	 * Creates the {@link Logger} instance
+	 *
+	 * @param name name of the SLF4J logger
+	 */
+	private Logger(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the logger for the specified class
+	 * <p>
+	 * SLF4J is not accessed until the logger is used
+	 *
+	 * @param type class, which the logger is returned for
+	 * @return logger for the specified class
+	 */
+	static Logger getLogger(Class<?> type) {
+		return new Logger(type.getName());
+	}
+
+	/**
+	 * Checks whether trace logging is enabled
+	 *
+	 * @return true if trace logging is enabled, otherwise false
+	 */
+	boolean isTraceEnabled() {
+		return TRACE_ENABLED && getDelegate().isTraceEnabled();
+	}
+
+	/**
+	 * Logs the message at the trace level
+	 *
+	 * @param message message to log
+	 */
+	void trace(String message) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(message);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and argument
+	 *
+	 * @param format format string
+	 * @param arg argument
+	 */
+	void trace(String format, Object arg) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and argument
+	 *
+	 * @param format format string
+	 * @param arg argument
+	 */
+	void trace(String format, int arg) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and argument
+	 *
+	 * @param format format string
+	 * @param arg argument
+	 */
+	void trace(String format, float arg) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and arguments
+	 *
+	 * @param format format string
+	 * @param arg1 first argument
+	 * @param arg2 second argument
+	 */
+	void trace(String format, Object arg1, Object arg2) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and arguments
+	 *
+	 * @param format format string
+	 * @param arg1 first argument
+	 * @param arg2 second argument
+	 */
+	void trace(String format, int arg1, int arg2) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and arguments
+	 *
+	 * @param format format string
+	 * @param arg1 first argument
+	 * @param arg2 second argument
+	 */
+	void trace(String format, float arg1, float arg2) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level according to the specified format
+	 * and arguments
+	 * <p>
+	 * The arguments array is created by the caller, so the call must be guarded
+	 * with {@link #isTraceEnabled()} on the frequently called paths
+	 *
+	 * @param format format string
+	 * @param args arguments
+	 */
+	void trace(String format, Object... args) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(format, args);
+		}
+	}
+
+	/**
+	 * Logs the message at the trace level together with the exception
+	 *
+	 * @param message message to log
+	 * @param e exception to log
+	 */
+	void trace(String message, Throwable e) {
+		if (TRACE_ENABLED && isTraceEnabled()) {
+			getDelegate().trace(message, e);
+		}
+	}
+
+	/**
+	 * Logs the message at the warn level
+	 *
+	 * @param message message to log
+	 */
+	void warn(String message) {
+		getDelegate().warn(message);
+	}
+
+	/**
+	 * Logs the message at the error level together with the exception
+	 *
+	 * @param message message to log
+	 * @param e exception to log
+	 */
+	void error(String message, Throwable e) {
+		getDelegate().error(message, e);
+	}
+
+	/**
+	 * Returns the SLF4J logger
+	 * <p>
+	 * The SLF4J logger is obtained on the first call
+	 *
+	 * @return SLF4J logger
+	 */
+	private org.slf4j.Logger getDelegate() {
+		org.slf4j.Logger logger = delegate;
+		if (logger == null) {
+			logger = LoggerFactory.getLogger(name);
+			delegate = logger;
+		}
+		return logger;
+	}
+
+}
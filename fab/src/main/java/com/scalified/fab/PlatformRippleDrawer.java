@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.annotation.TargetApi;
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.RippleDrawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+import android.os.Build;
+
+/**
+ * A class responsible for drawing the <b>Action Button</b> Ripple Effect
+ * with the platform {@link RippleDrawable}
+ * <p>
+ * The ripple is masked by the oval, so that it doesn't go beyond the
+ * <b>Action Button</b> circle. On the hardware canvas the ripple is animated
+ * on the RenderThread and keeps running while the UI thread is busy
+ * <p>
+ * Might be used if target API is {@code LOLLIPOP (21)} and higher
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+class PlatformRippleDrawer extends EffectDrawer {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(PlatformRippleDrawer.class);
+
+	/**
+	 * Ripple drawable state while <b>Action Button</b> is pressed
+	 */
+	private static final int[] PRESSED_STATE = {android.R.attr.state_pressed, android.R.attr.state_enabled};
+
+	/**
+	 * Ripple drawable state while <b>Action Button</b> is not pressed
+	 */
+	private static final int[] RELEASED_STATE = {android.R.attr.state_enabled};
+
+	/**
+	 * Ripple drawable, which is created on the first use
+	 */
+	private RippleDrawable ripple;
+
+	/**
+	 * Ripple color, which is currently set to the {@link #ripple}
+	 */
+	private int rippleColor;
+
+	/**
+	 * Creates the {@link PlatformRippleDrawer} instance
+	 *
+	 * @param actionButton <b>Action Button</b> instance
+	 */
+	PlatformRippleDrawer(ActionButton actionButton) {
+		super(actionButton);
+	}
+
+	/**
+	 * Draws the ripple drawable within the <b>Action Button</b> circle bounds
+	 * <p>
+	 * The ripple is released if the <b>Action Button</b> is not pressed anymore
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 */
+	@Override
+	void draw(Canvas canvas) {
+		RippleDrawable ripple = obtainRipple();
+		if (!isPressed()) {
+			ripple.setState(RELEASED_STATE);
+		}
+		ActionButton actionButton = getActionButton();
+		float radius = actionButton.calculateCircleRadius();
+		float centerX = actionButton.calculateCenterX();
+		float centerY = actionButton.calculateCenterY();
+		ripple.setBounds((int) (centerX - radius), (int) (centerY - radius),
+				(int) (centerX + radius), (int) (centerY + radius));
+		ripple.draw(canvas);
+		LOGGER.trace("Drawn the platform Ripple Effect");
+	}
+
+	/**
+	 * Starts the ripple at the specified point
+	 *
+	 * @param x X-axis coordinate of the ripple center
+	 * @param y Y-axis coordinate of the ripple center
+	 */
+	void press(float x, float y) {
+		RippleDrawable ripple = obtainRipple();
+		ripple.setHotspot(x, y);
+		ripple.setState(PRESSED_STATE);
+		DiagnosticLog.record(DiagnosticLog.EVENT_RIPPLE_STARTED, getActionButton(), x, y, 0.0f, 0.0f);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Pressed the platform Ripple Effect at X = {}, Y = {}", x, y);
+		}
+	}
+
+	/**
+	 * Releases the ripple, so that it fades out
+	 */
+	void release() {
+		if (ripple != null) {
+			ripple.setState(RELEASED_STATE);
+			DiagnosticLog.record(DiagnosticLog.EVENT_RIPPLE_RELEASED, getActionButton());
+			LOGGER.trace("Released the platform Ripple Effect");
+		}
+	}
+
+	/**
+	 * Finishes all of the ripple animations immediately
+	 */
+	void jumpToCurrentState() {
+		if (ripple != null) {
+			ripple.jumpToCurrentState();
+		}
+	}
+
+	/**
+	 * Checks whether the specified drawable is the ripple drawable
+	 *
+	 * @param drawable drawable to check
+	 * @return true if the specified drawable is the ripple drawable, otherwise false
+	 */
+	boolean isRipple(Drawable drawable) {
+		return drawable != null && drawable == ripple;
+	}
+
+	/**
+	 * Returns the ripple drawable with the actual <b>Action Button</b> ripple color
+	 * <p>
+	 * The ripple drawable is created on the first call
+	 *
+	 * @return ripple drawable
+	 */
+	private RippleDrawable obtainRipple() {
+		int color = getActionButton().getButtonColorRipple();
+		if (ripple == null) {
+			ripple = new RippleDrawable(ColorStateList.valueOf(color), null, new ShapeDrawable(new OvalShape()));
+			ripple.setCallback(getActionButton());
+			rippleColor = color;
+			LOGGER.trace("Created the platform ripple drawable");
+		} else if (rippleColor != color) {
+			ripple.setColor(ColorStateList.valueOf(color));
+			rippleColor = color;
+			LOGGER.trace("Changed the platform ripple drawable color");
+		}
+		return ripple;
+	}
+
+}
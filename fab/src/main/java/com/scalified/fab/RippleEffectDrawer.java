@@ -17,18 +17,32 @@
 package com.scalified.fab;
 
 import android.graphics.Canvas;
+import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.Region;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
 
 /**
  * A class responsible for drawing the <b>Action Button</b> Ripple Effect
+ * <p>
+ * The ripple is drawn without path clipping: the <b>Action Button</b> circle is
+ * drawn with the radial gradient shader, which is opaque inside the ripple circle
+ * and transparent outside, so that each ripple frame is a single draw call
+ * <p>
+ * Several ripples may be drawn at the same time: each press starts a new ripple,
+ * while the released ones keep growing and fade out independently. Ripples are
+ * taken from the preallocated pool, which size is limited by the
+ * {@link ActionButton#getRippleEffectMaxCount()}. If all of the ripples are in
+ * progress, the oldest one is reused
+ * <p>
+ * Ripples are animated by time, starting from the time of the touch event,
+ * which started or released them, so that the input latency is compensated
  *
  * @author shell
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.1.0
  */
 class RippleEffectDrawer extends EffectDrawer {
@@ -36,22 +50,73 @@ class RippleEffectDrawer extends EffectDrawer {
 	/**
 	 * Logger
 	 */
-	private static final Logger LOGGER = LoggerFactory.getLogger(RippleEffectDrawer.class);
+	private static final Logger LOGGER = Logger.getLogger(RippleEffectDrawer.class);
+
+	/**
+	 * Duration of the ripple growth up to its end radius in milliseconds
+	 */
+	private static final long RIPPLE_EXPAND_DURATION_MS = 500;
+
+	/**
+	 * Duration of the released ripple fading out in milliseconds
+	 */
+	private static final long RIPPLE_FADE_DURATION_MS = 200;
+
+	/**
+	 * Interpolator, which is used for the ripple growth
+	 */
+	private static final Interpolator EXPAND_INTERPOLATOR = new DecelerateInterpolator();
+
+	/**
+	 * Interpolator, which is used for the ripple fading out
+	 */
+	private static final Interpolator FADE_INTERPOLATOR = new LinearInterpolator();
+
+	/**
+	 * Radius of the ripple shader, which is then scaled to the ripple radius
+	 */
+	private static final float RIPPLE_SHADER_RADIUS = 256.0f;
+
+	/**
+	 * Width of the ripple anti-aliased edge relative to the {@link #RIPPLE_SHADER_RADIUS}
+	 */
+	private static final float RIPPLE_EDGE_WIDTH = 1.0f;
+
+	/**
+	 * Paint, which is used for drawing the ripples
+	 */
+	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
 
 	/**
-	 * Default value, which current {@link #currentRadius} is incremented by
+	 * Matrix, which positions and scales the ripple shader
 	 */
-	private static final int RADIUS_INCREMENT = 5;
+	private final Matrix shaderMatrix = new Matrix();
 
 	/**
-	 * Delay, which is used to complete the ripple drawing
+	 * Ripple shader
 	 */
-	private static final long POST_INVALIDATION_DELAY_MS = 100;
+	private Shader shader;
 
 	/**
-	 * Current Ripple Effect radius
+	 * Ripple color, which the current {@link #shader} was created for
 	 */
-	private int currentRadius;
+	private int shaderColor;
+
+	/**
+	 * Ripples pool
+	 */
+	private Ripple[] ripples = new Ripple[0];
+
+	/**
+	 * Ripple, which follows the current press, or null if
+	 * <b>Action Button</b> is not pressed
+	 */
+	private Ripple heldRipple;
+
+	/**
+	 * The number of the ripples started so far, which is used to find the oldest ripple
+	 */
+	private long startedCount;
 
 	/**
 	 * Creates the {@link RippleEffectDrawer} instance
@@ -60,24 +125,69 @@ class RippleEffectDrawer extends EffectDrawer {
 	 */
 	RippleEffectDrawer(ActionButton actionButton) {
 		super(actionButton);
+		setMaxCount(actionButton.getRippleEffectMaxCount());
 	}
 
 	/**
-	 * Checks whether ripple effect drawing is in progress
+	 * Resizes the ripples pool to the specified maximum number of ripples
+	 * <p>
+	 * The ripples in progress are dropped
 	 *
-	 * @return true if ripple effect drawing is in progress, otherwise false
+	 * @param maxCount maximum number of the ripples, which are drawn at the same time
 	 */
-	boolean isDrawingInProgress() {
-		return currentRadius > 0 && !isDrawingFinished();
+	void setMaxCount(int maxCount) {
+		ripples = new Ripple[maxCount];
+		for (int i = 0; i < maxCount; i++) {
+			ripples[i] = new Ripple();
+		}
+		heldRipple = null;
+		LOGGER.trace("Created the ripples pool of size: {}", maxCount);
+	}
+
+	/**
+	 * Starts the new ripple at the specified point and releases the previous one
+	 *
+	 * @param x X-axis coordinate of the ripple center
+	 * @param y Y-axis coordinate of the ripple center
+	 * @param time time of the press in milliseconds
+	 */
+	void startRipple(float x, float y, long time) {
+		releaseRipple(time);
+		Ripple ripple = obtainRipple();
+		ripple.start(x, y, time, ++startedCount);
+		heldRipple = ripple;
+		DiagnosticLog.record(DiagnosticLog.EVENT_RIPPLE_STARTED, getActionButton(), x, y, 0.0f, 0.0f);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Started the ripple at X = {}, Y = {}", x, y);
+		}
+	}
+
+	/**
+	 * Releases the ripple, which follows the current press, so that it fades out
+	 *
+	 * @param time time of the release in milliseconds
+	 */
+	void releaseRipple(long time) {
+		if (heldRipple != null) {
+			heldRipple.release(time);
+			heldRipple = null;
+			DiagnosticLog.record(DiagnosticLog.EVENT_RIPPLE_RELEASED, getActionButton());
+			LOGGER.trace("Released the ripple");
+		}
 	}
 
 	/**
-	 * Checks whether ripple effect drawing is finished
+	 * Checks whether ripple effect drawing is in progress
 	 *
-	 * @return true if ripple effect drawing is finished, otherwise false
+	 * @return true if ripple effect drawing is in progress, otherwise false
 	 */
-	boolean isDrawingFinished() {
-		return currentRadius >= getEndRippleRadius();
+	boolean isDrawingInProgress() {
+		for (Ripple ripple : ripples) {
+			if (ripple.active) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -85,88 +195,226 @@ class RippleEffectDrawer extends EffectDrawer {
 	 *
 	 * @return end Ripple Effect radius
 	 */
-	private int getEndRippleRadius() {
-		return (int) (getActionButton().calculateCircleRadius() * 2);
+	private float getEndRippleRadius() {
+		return getActionButton().calculateCircleRadius() * 2;
 	}
 
 	/**
-	 * Updates the Ripple Effect {@link #currentRadius}
+	 * Returns the free ripple from the pool or the oldest one if all
+	 * of the ripples are in progress
+	 *
+	 * @return ripple to be started
 	 */
-	private void updateRadius() {
-		if (isPressed()) {
-			if (currentRadius <= getEndRippleRadius()) {
-				currentRadius += RADIUS_INCREMENT;
+	private Ripple obtainRipple() {
+		Ripple oldest = ripples[0];
+		for (Ripple ripple : ripples) {
+			if (!ripple.active) {
+				return ripple;
 			}
-		} else {
-			if (isDrawingInProgress()) {
-				currentRadius = getEndRippleRadius();
-			} else if (isDrawingFinished()) {
-				currentRadius = 0;
+			if (ripple.sequence < oldest.sequence) {
+				oldest = ripple;
 			}
 		}
-		LOGGER.trace("Updated Ripple Effect radius to: {}", currentRadius);
+		return oldest;
+	}
+
+	/**
+	 * Keeps the ripples in sync with the <b>Action Button</b> state, which
+	 * may be changed without touching
+	 *
+	 * @param time current frame time in milliseconds
+	 */
+	private void syncWithState(long time) {
+		if (isPressed() && heldRipple == null) {
+			TouchPoint point = getActionButton().getTouchPoint();
+			startRipple(point.getLastX(), point.getLastY(), time);
+		} else if (!isPressed()) {
+			releaseRipple(time);
+		}
 	}
 
 	/**
 	 * Performs the entire Ripple Effect drawing frame by frame animating the process
 	 * <p>
-	 * Calls the {@link ActionButton#postInvalidate()} after each {@link #currentRadius} update
-	 * to draw the current frame animating the ripple effect drawing
+	 * Ripples are advanced to the current frame time, then the <b>Action Button</b>
+	 * circle invalidation is required to draw the next frame while any ripple is animated.
+	 * {@link ActionButton#onRippleEffectEnd()} is called once the last ripple finishes
 	 *
 	 * @param canvas canvas, which the Ripple Effect is drawing on
 	 */
 	void draw(Canvas canvas) {
-		updateRadius();
-		drawRipple(canvas);
-		ViewInvalidator invalidator = getActionButton().getInvalidator();
-		if (isDrawingInProgress()) {
-			invalidator.requireInvalidation();
-			LOGGER.trace("Drawing Ripple Effect in progress, invalidating the Action Button");
-		} else if (isDrawingFinished() && !isPressed()) {
-			invalidator.requireDelayedInvalidation();
-			invalidator.setInvalidationDelay(POST_INVALIDATION_DELAY_MS);
-			LOGGER.trace("Completed Ripple Effect drawing, posting the last invalidate");
+		long time = EffectAnimation.currentTime();
+		syncWithState(time);
+		boolean animating = false;
+		boolean finished = false;
+		float endRadius = getEndRippleRadius();
+		for (Ripple ripple : ripples) {
+			if (ripple.active) {
+				finished |= !ripple.update(time, endRadius);
+				drawRipple(canvas, ripple);
+				animating |= ripple.isAnimating();
+			}
+		}
+		if (animating) {
+			getActionButton().requireCircleInvalidation();
+			LOGGER.trace("Drawing Ripple Effect in progress, invalidating the Action Button circle");
+		} else if (finished && !isDrawingInProgress()) {
+			getActionButton().onRippleEffectEnd();
+			LOGGER.trace("Completed Ripple Effect drawing");
 		}
 	}
 
 	/**
-	 * Draws the single frame of the Ripple Effect depending on Ripple Effect
-	 * {@link #currentRadius}
+	 * Draws the single frame of the specified ripple
+	 * <p>
+	 * The ripple shader is moved to the ripple center and scaled to the
+	 * ripple radius, then the <b>Action Button</b> circle is drawn with it,
+	 * so that the ripple doesn't go beyond the <b>Action Button</b> circle
 	 *
 	 * @param canvas canvas, which the Ripple Effect is drawing on
+	 * @param ripple ripple to draw
 	 */
-	private void drawRipple(Canvas canvas) {
-		canvas.save();
-		canvas.clipPath(getCircleClipPath(), Region.Op.INTERSECT);
-		TouchPoint point = getActionButton().getTouchPoint();
-		canvas.drawCircle(point.getLastX(), point.getLastY(), currentRadius, getPreparedPaint());
-		canvas.restore();
+	private void drawRipple(Canvas canvas, Ripple ripple) {
+		if (ripple.radius <= 0.0f) {
+			return;
+		}
+		ActionButton actionButton = getActionButton();
+		updateShader(actionButton.getButtonColorRipple());
+		float scale = ripple.radius / RIPPLE_SHADER_RADIUS;
+		shaderMatrix.setScale(scale, scale);
+		shaderMatrix.postTranslate(ripple.x, ripple.y);
+		shader.setLocalMatrix(shaderMatrix);
+		paint.setAlpha(Math.round(ripple.opacity * 255));
+		canvas.drawCircle(actionButton.calculateCenterX(), actionButton.calculateCenterY(),
+				actionButton.calculateCircleRadius(), paint);
 	}
 
 	/**
-	 * Returns the clipped path, which clips the ripple circle so that it doesn't goes beyond
-	 * the <b>Action Button</b> circle
+	 * Recreates the ripple shader centered at the origin if the ripple color changed
 	 *
-	 * @return clipped path, which clips the ripple circle
+	 * @param rippleColor ripple color
 	 */
-	private Path getCircleClipPath() {
-		Path path = new Path();
-		path.addCircle(getActionButton().calculateCenterX(), getActionButton().calculateCenterY(),
-				getActionButton().calculateCircleRadius(), Path.Direction.CW);
-		return path;
+	private void updateShader(int rippleColor) {
+		if (shader != null && shaderColor == rippleColor) {
+			return;
+		}
+		int transparentColor = rippleColor & 0x00FFFFFF;
+		shader = new RadialGradient(0.0f, 0.0f, RIPPLE_SHADER_RADIUS,
+				new int[]{rippleColor, rippleColor, transparentColor},
+				new float[]{0.0f, 1.0f - RIPPLE_EDGE_WIDTH / RIPPLE_SHADER_RADIUS, 1.0f},
+				Shader.TileMode.CLAMP);
+		paint.setShader(shader);
+		shaderColor = rippleColor;
+		LOGGER.trace("Created the Ripple Effect shader");
 	}
 
 	/**
-	 * Returns the paint, which is prepared for Ripple Effect drawing
-	 *
-	 * @return paint, which is prepared for Ripple Effect drawing
-	 */
-	private Paint getPreparedPaint() {
-		getActionButton().resetPaint();
-		Paint paint = getActionButton().getPaint();
-		paint.setStyle(Paint.Style.FILL);
-		paint.setColor(getActionButton().getButtonColorRipple());
-		return paint;
+	 * A single ripple state
+	 */
+	private static final class Ripple {
+
+		/**
+		 * Ripple growth animation
+		 */
+		final EffectAnimation expansion = new EffectAnimation(RIPPLE_EXPAND_DURATION_MS, EXPAND_INTERPOLATOR);
+
+		/**
+		 * Ripple fading out animation, which is started once the ripple is released
+		 */
+		final EffectAnimation fading = new EffectAnimation(RIPPLE_FADE_DURATION_MS, FADE_INTERPOLATOR);
+
+		/**
+		 * X-axis coordinate of the ripple center
+		 */
+		float x;
+
+		/**
+		 * Y-axis coordinate of the ripple center
+		 */
+		float y;
+
+		/**
+		 * Current ripple radius
+		 */
+		float radius;
+
+		/**
+		 * Current ripple opacity within {@code [0.0f, 1.0f]} range
+		 */
+		float opacity;
+
+		/**
+		 * Ripple start sequence number
+		 */
+		long sequence;
+
+		/**
+		 * Determines whether the ripple is in progress
+		 */
+		boolean active;
+
+		/**
+		 * Determines whether the press, which started the ripple, is released
+		 */
+		boolean released;
+
+		/**
+		 * Starts the ripple at the specified point
+		 *
+		 * @param x X-axis coordinate of the ripple center
+		 * @param y Y-axis coordinate of the ripple center
+		 * @param time time of the press in milliseconds
+		 * @param sequence ripple start sequence number
+		 */
+		void start(float x, float y, long time, long sequence) {
+			this.x = x;
+			this.y = y;
+			this.sequence = sequence;
+			expansion.start(time);
+			radius = 0.0f;
+			opacity = 1.0f;
+			active = true;
+			released = false;
+		}
+
+		/**
+		 * Releases the ripple, so that it starts fading out
+		 *
+		 * @param time time of the release in milliseconds
+		 */
+		void release(long time) {
+			fading.start(time);
+			released = true;
+		}
+
+		/**
+		 * Advances the ripple growth and, once released, its fading out
+		 * to the specified frame time
+		 *
+		 * @param time frame time in milliseconds
+		 * @param endRadius end ripple radius
+		 * @return true if the ripple is still in progress, otherwise false
+		 */
+		boolean update(long time, float endRadius) {
+			expansion.advance(time);
+			radius = endRadius * expansion.getValue();
+			if (released) {
+				active = fading.advance(time);
+				opacity = 1.0f - fading.getValue();
+			}
+			return active;
+		}
+
+		/**
+		 * Checks whether the ripple needs the next frame, which is true unless
+		 * the ripple is finished or held at its end radius
+		 *
+		 * @return true if the ripple needs the next frame, otherwise false
+		 */
+		boolean isAnimating() {
+			return active && (released || expansion.isRunning());
+		}
+
 	}
 
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * A class responsible for drawing the <b>Action Button</b> shadow
+ * from the pre-blurred bitmap mask
+ * <p>
+ * Unlike {@link Paint#setShadowLayer(float, float, float, int)} drawing the
+ * pre-blurred mask doesn't require the software layer, so that the
+ * <b>Action Button</b> may stay hardware accelerated
+ * <p>
+ * Masks are obtained from the {@link ShadowCache}, so that the same mask is
+ * shared across all of the <b>Action Button</b> instances. Shadow is not drawn
+ * until the mask is rendered and is drawn by the {@link ShadowGradientDrawer}
+ * if the mask failed to render
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ShadowBitmapDrawer extends EffectDrawer {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(ShadowBitmapDrawer.class);
+
+	/**
+	 * Paint, which is used for drawing the shadow mask
+	 */
+	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+
+	/**
+	 * Bounds, which the shadow mask is upscaled to while drawing
+	 */
+	private final RectF maskBounds = new RectF();
+
+	/**
+	 * Current shadow mask
+	 */
+	private Bitmap mask;
+
+	/**
+	 * Circle size, which the current shadow {@link #mask} was obtained for
+	 */
+	private float maskCircleSize;
+
+	/**
+	 * Shadow radius, which the current shadow {@link #mask} was obtained for
+	 */
+	private float maskShadowRadius;
+
+	/**
+	 * Creates the {@link ShadowBitmapDrawer} instance
+	 *
+	 * @param actionButton <b>Action Button</b> instance
+	 */
+	ShadowBitmapDrawer(ActionButton actionButton) {
+		super(actionButton);
+	}
+
+	/**
+	 * Draws the shadow with the <b>Action Button</b> shadow radius
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 */
+	@Override
+	void draw(Canvas canvas) {
+		draw(canvas, getActionButton().getShadowRadius());
+	}
+
+	/**
+	 * Draws the shadow with the specified shadow radius
+	 * <p>
+	 * The shadow is not drawn if the mask is not rendered yet and is drawn
+	 * with the radial gradient if the mask failed to render
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param shadowRadius shadow radius in actual pixels
+	 */
+	void draw(Canvas canvas, float shadowRadius) {
+		if (shadowRadius <= 0.0f) {
+			return;
+		}
+		float circleSize = getActionButton().getSize();
+		Bitmap mask = obtainMask(circleSize, shadowRadius);
+		if (mask != null) {
+			drawMask(canvas, mask, shadowRadius);
+		} else if (ShadowCache.hasFailed(circleSize, shadowRadius)) {
+			((ShadowGradientDrawer) getActionButton().shadowGradientDrawer).draw(canvas, shadowRadius);
+		}
+	}
+
+	/**
+	 * Schedules the rendering of the shadow mask with the <b>Action Button</b>
+	 * shadow radius unless it is rendered already
+	 */
+	void prepare() {
+		obtainMask(getActionButton().getSize(), getActionButton().getShadowRadius());
+	}
+
+	/**
+	 * Draws the specified shadow mask centered below the <b>Action Button</b> circle
+	 * <p>
+	 * The shadow mask is upscaled to the size of the specified shadow radius,
+	 * tinted with the <b>Action Button</b> shadow color and shifted by the shadow
+	 * X- and Y-axis offsets
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param mask shadow mask
+	 * @param shadowRadius shadow radius in actual pixels, which the mask is drawn with
+	 */
+	void drawMask(Canvas canvas, Bitmap mask, float shadowRadius) {
+		ActionButton actionButton = getActionButton();
+		float halfMaskSize = ShadowCache.getMaskSize(actionButton.getSize(), shadowRadius) / 2.0f;
+		float centerX = actionButton.calculateCenterX() + actionButton.getShadowXOffset();
+		float centerY = actionButton.calculateCenterY() + actionButton.getShadowYOffset();
+		maskBounds.set(centerX - halfMaskSize, centerY - halfMaskSize, centerX + halfMaskSize,
+				centerY + halfMaskSize);
+		paint.setColor(actionButton.getShadowColor());
+		canvas.drawBitmap(mask, null, maskBounds, paint);
+		LOGGER.trace("Drawn the Action Button shadow mask");
+	}
+
+	/**
+	 * Returns the shadow mask for the specified circle size and shadow radius
+	 * <p>
+	 * The mask is obtained from the {@link ShadowCache} only if any of the
+	 * parameters changed or the mask was not rendered yet
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return shadow mask or null if it is not rendered yet
+	 */
+	private Bitmap obtainMask(float circleSize, float shadowRadius) {
+		if (mask == null || maskCircleSize != circleSize || maskShadowRadius != shadowRadius) {
+			mask = ShadowCache.get(circleSize, shadowRadius, getActionButton());
+			maskCircleSize = circleSize;
+			maskShadowRadius = shadowRadius;
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Obtained the shadow mask for the shadow radius: {}", shadowRadius);
+			}
+		}
+		return mask;
+	}
+
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Process;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Process-wide LRU cache of the pre-blurred shadow masks, which are shared
+ * across all of the <b>Action Button</b> instances
+ * <p>
+ * Masks are alpha-only and don't depend on the shadow color and offsets,
+ * which are applied while drawing. Circle size and shadow radius are
+ * expressed in actual pixels, so that the screen density is already taken
+ * into account by the cache key
+ * <p>
+ * Masks are rendered on the background thread at the reduced resolution and
+ * are upscaled with filtering while drawing. The <b>Action Button</b>, which
+ * requested the missing mask, is invalidated once the mask is ready. Masks,
+ * which failed to render, are not rendered again until the cache is cleared,
+ * so that the shadow may be drawn in a different way instead
+ * <p>
+ * Masks for the standard <b>Action Button</b> types with the default shadow
+ * radius are generated at build time and are decoded from resources instead
+ * of being blurred
+ * <p>
+ * Masks are kept as {@link Bitmap.Config#ALPHA_8} bitmaps regardless of the
+ * canvas type, since they take a quarter of the memory of the color bitmaps
+ * and are tinted while drawing
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class ShadowCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(ShadowCache.class);
+
+	/**
+	 * Default maximum size of the cache in bytes
+	 */
+	private static final int DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * The factor, which is used as multiplier of the shadow radius for
+	 * determining the mask padding around the circle
+	 */
+	private static final float MASK_PADDING_FACTOR = 2.0f;
+
+	/**
+	 * The factor, which is used for downsampling the masks while rendering
+	 */
+	private static final float MASK_SCALE = 0.5f;
+
+	/**
+	 * Shadow radius in density-independent pixels, which the masks are
+	 * generated at build time for
+	 */
+	private static final float PREBAKED_SHADOW_RADIUS = 8.0f;
+
+	/**
+	 * Maximum difference in actual pixels between the requested and the
+	 * generated at build time mask parameters
+	 */
+	private static final float PREBAKED_TOLERANCE = 0.5f;
+
+	/**
+	 * Screen densities, which the masks are generated at build time for
+	 */
+	private static final float[] PREBAKED_DENSITIES = {1.0f, 1.5f, 2.0f, 3.0f, 4.0f};
+
+	/**
+	 * Resource ids of the masks generated at build time for the
+	 * {@link ActionButton.Type#DEFAULT} type in {@link #PREBAKED_DENSITIES} order
+	 */
+	private static final int[] PREBAKED_DEFAULT_MASKS = {R.drawable.fab_shadow_default_mdpi,
+			R.drawable.fab_shadow_default_hdpi, R.drawable.fab_shadow_default_xhdpi,
+			R.drawable.fab_shadow_default_xxhdpi, R.drawable.fab_shadow_default_xxxhdpi};
+
+	/**
+	 * Resource ids of the masks generated at build time for the
+	 * {@link ActionButton.Type#MINI} type in {@link #PREBAKED_DENSITIES} order
+	 */
+	private static final int[] PREBAKED_MINI_MASKS = {R.drawable.fab_shadow_mini_mdpi,
+			R.drawable.fab_shadow_mini_hdpi, R.drawable.fab_shadow_mini_xhdpi,
+			R.drawable.fab_shadow_mini_xxhdpi, R.drawable.fab_shadow_mini_xxxhdpi};
+
+	/**
+	 * Resource ids of the masks generated at build time for the
+	 * {@link ActionButton.Type#BIG} type in {@link #PREBAKED_DENSITIES} order
+	 */
+	private static final int[] PREBAKED_BIG_MASKS = {R.drawable.fab_shadow_big_mdpi,
+			R.drawable.fab_shadow_big_hdpi, R.drawable.fab_shadow_big_xhdpi,
+			R.drawable.fab_shadow_big_xxhdpi, R.drawable.fab_shadow_big_xxxhdpi};
+
+	/**
+	 * Cached masks in access order, so that the least recently used mask goes first
+	 */
+	private static final Map<Key, Bitmap> MASKS = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Views waiting for the masks, which are being rendered
+	 * <p>
+	 * Views are weakly referenced, so that the detached views are not leaked
+	 * until the rendering completes
+	 */
+	private static final Map<Key, List<WeakReference<View>>> PENDING = new HashMap<>();
+
+	/**
+	 * Keys of the masks, which failed to render
+	 */
+	private static final Set<Key> FAILED = new HashSet<>();
+
+	/**
+	 * Key, which is reused for looking up the masks, so that the lookups
+	 * don't allocate while the masks are drawn frame by frame
+	 */
+	private static final Key LOOKUP_KEY = new Key(0.0f, 0.0f);
+
+	/**
+	 * Executor, which renders the masks on the background thread
+	 */
+	private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+					runnable.run();
+				}
+			}, "ActionButton-ShadowCache");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * Maximum size of the cache in bytes
+	 */
+	private static int maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Current size of the cache in bytes
+	 */
+	private static int size;
+
+	/**
+	 * Number of times a mask was found in the cache
+	 */
+	private static int hitCount;
+
+	/**
+	 * Number of times a mask was missing in the cache and had to be created
+	 */
+	private static int missCount;
+
+	/**
+	 * Number of masks evicted from the cache
+	 */
+	private static int evictionCount;
+
+	/**
+	 * Prevents from instantiating
+	 */
+	private ShadowCache() {
+	}
+
+	/**
+	 * Returns the number of times a mask was found in the cache
+	 *
+	 * @return number of cache hits
+	 */
+	public static synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of times a mask was missing in the cache and had to be created
+	 *
+	 * @return number of cache misses
+	 */
+	public static synchronized int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the number of masks evicted from the cache
+	 *
+	 * @return number of cache evictions
+	 */
+	public static synchronized int getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Returns the current size of the cache in bytes
+	 *
+	 * @return current size of the cache in bytes
+	 */
+	public static synchronized int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the maximum size of the cache in bytes
+	 *
+	 * @return maximum size of the cache in bytes
+	 */
+	public static synchronized int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the maximum size of the cache in bytes and evicts the least
+	 * recently used masks, which exceed it
+	 *
+	 * @param maxSize maximum size of the cache in bytes
+	 */
+	public static synchronized void setMaxSize(int maxSize) {
+		ShadowCache.maxSize = maxSize;
+		trimToSize(maxSize);
+		LOGGER.trace("Set shadow cache maximum size to: {}", maxSize);
+	}
+
+	/**
+	 * Evicts all of the masks from the cache and forgets the masks, which
+	 * failed to render, so that they are rendered again once requested
+	 */
+	public static synchronized void clear() {
+		trimToSize(0);
+		FAILED.clear();
+		LOGGER.trace("Cleared shadow cache");
+	}
+
+	/**
+	 * Returns the shadow mask for the specified circle size and shadow radius
+	 * <p>
+	 * If the mask is missing it is scheduled for rendering on the background
+	 * thread and the specified view is invalidated once the mask is ready
+	 * <p>
+	 * The mask is not scheduled again if it failed to render
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @param view view, which is to be invalidated once the missing mask is ready
+	 * @return shadow mask or null if it is being rendered or failed to render
+	 */
+	static synchronized Bitmap get(float circleSize, float shadowRadius, View view) {
+		LOOKUP_KEY.set(circleSize, shadowRadius);
+		Bitmap mask = MASKS.get(LOOKUP_KEY);
+		if (mask != null) {
+			hitCount++;
+			return mask;
+		}
+		if (FAILED.contains(LOOKUP_KEY)) {
+			return null;
+		}
+		List<WeakReference<View>> views = PENDING.get(LOOKUP_KEY);
+		if (views == null) {
+			missCount++;
+			final Key key = new Key(circleSize, shadowRadius);
+			final Resources resources = view.getResources();
+			views = new ArrayList<>();
+			PENDING.put(key, views);
+			EXECUTOR.execute(new Runnable() {
+				@Override
+				public void run() {
+					render(key, resources);
+				}
+			});
+			LOGGER.trace("Scheduled the shadow mask rendering for the shadow radius: {}", shadowRadius);
+		}
+		for (WeakReference<View> reference : views) {
+			if (reference.get() == view) {
+				return null;
+			}
+		}
+		views.add(new WeakReference<>(view));
+		return null;
+	}
+
+	/**
+	 * Checks whether the shadow mask for the specified circle size and shadow
+	 * radius failed to render
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return true if the mask failed to render, otherwise false
+	 */
+	static synchronized boolean hasFailed(float circleSize, float shadowRadius) {
+		LOOKUP_KEY.set(circleSize, shadowRadius);
+		return FAILED.contains(LOOKUP_KEY);
+	}
+
+	/**
+	 * Blocks until all of the masks, which are scheduled for rendering by now,
+	 * are rendered
+	 * <p>
+	 * Used by tests, which must not race with the background rendering
+	 *
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	static void awaitPendingRenders() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		EXECUTOR.execute(new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		});
+		latch.await();
+	}
+
+	/**
+	 * Returns the size of the mask in actual pixels, which the mask is drawn with
+	 * regardless of its resolution
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return size of the mask in actual pixels
+	 */
+	static int getMaskSize(float circleSize, float shadowRadius) {
+		int padding = (int) Math.ceil(shadowRadius * MASK_PADDING_FACTOR);
+		return (int) Math.ceil(circleSize) + padding * 2;
+	}
+
+	/**
+	 * Renders the mask for the specified key, puts it into the cache and
+	 * invalidates the views waiting for it
+	 * <p>
+	 * The key is remembered as failed if the rendering failed, so that the
+	 * views, which are invalidated anyway, don't schedule it again
+	 * <p>
+	 * The mask is decoded from resources if it was generated at build time
+	 * <p>
+	 * Called on the background thread
+	 *
+	 * @param key mask key
+	 * @param resources resources, which the mask generated at build time is decoded from
+	 */
+	private static void render(Key key, Resources resources) {
+		Bitmap mask = null;
+		try {
+			mask = decodePrebakedMask(resources, key.circleSize, key.shadowRadius);
+			if (mask == null) {
+				mask = createMask(key.circleSize, key.shadowRadius);
+			}
+		} catch (RuntimeException | OutOfMemoryError e) {
+			LOGGER.error("Failed to render the shadow mask", e);
+		}
+		List<WeakReference<View>> views;
+		synchronized (ShadowCache.class) {
+			if (mask != null) {
+				MASKS.put(key, mask);
+				size += sizeOf(mask);
+				trimToSize(maxSize);
+			} else {
+				FAILED.add(key);
+			}
+			views = PENDING.remove(key);
+		}
+		for (WeakReference<View> reference : views) {
+			View view = reference.get();
+			if (view != null) {
+				view.postInvalidate();
+			}
+		}
+		LOGGER.trace("Rendered the shadow mask for the shadow radius: {}", key.shadowRadius);
+	}
+
+	/**
+	 * Evicts the least recently used masks until the cache size is not greater
+	 * than the specified one
+	 * <p>
+	 * Evicted masks are not recycled, since they may still be drawn by the
+	 * <b>Action Button</b> instances
+	 *
+	 * @param maxSize maximum size of the cache in bytes
+	 */
+	private static void trimToSize(int maxSize) {
+		Iterator<Bitmap> iterator = MASKS.values().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			size -= sizeOf(iterator.next());
+			iterator.remove();
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Returns the size of the alpha-only mask in bytes
+	 *
+	 * @param mask alpha-only mask
+	 * @return size of the mask in bytes
+	 */
+	private static int sizeOf(Bitmap mask) {
+		return mask.getWidth() * mask.getHeight();
+	}
+
+	/**
+	 * Creates the alpha-only shadow mask by blurring the circle of the specified size
+	 * <p>
+	 * The mask is downsampled by {@link #MASK_SCALE}, since the blur hides the
+	 * lost details
+	 * <p>
+	 * {@link BlurMaskFilter} converts the radius into the blur sigma the same
+	 * way as {@link Paint#setShadowLayer(float, float, float, int)} does, so that
+	 * the resulting shadow matches the one drawn on the software layer
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return alpha-only shadow mask
+	 */
+	private static Bitmap createMask(float circleSize, float shadowRadius) {
+		int maskSize = getMaskSize(circleSize, shadowRadius);
+		int scaledMaskSize = Math.max(1, Math.round(maskSize * MASK_SCALE));
+		float scale = (float) scaledMaskSize / maskSize;
+		Bitmap mask = Bitmap.createBitmap(scaledMaskSize, scaledMaskSize, Bitmap.Config.ALPHA_8);
+		Paint maskPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+		maskPaint.setMaskFilter(new BlurMaskFilter(shadowRadius * scale, BlurMaskFilter.Blur.NORMAL));
+		float center = scaledMaskSize / 2.0f;
+		new Canvas(mask).drawCircle(center, center, circleSize * scale / 2.0f, maskPaint);
+		return mask;
+	}
+
+	/**
+	 * Decodes the mask generated at build time for the specified circle size
+	 * and shadow radius
+	 * <p>
+	 * The mask is decoded without density scaling, since it is generated for the
+	 * exact screen density already
+	 *
+	 * @param resources resources, which the mask is decoded from
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return alpha-only shadow mask or null if there is no such mask generated
+	 */
+	private static Bitmap decodePrebakedMask(Resources resources, float circleSize, float shadowRadius) {
+		int resId = getPrebakedMaskResId(resources.getDisplayMetrics().density, circleSize, shadowRadius);
+		if (resId == 0) {
+			return null;
+		}
+		BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inScaled = false;
+		Bitmap bitmap = BitmapFactory.decodeResource(resources, resId, options);
+		if (bitmap == null) {
+			return null;
+		}
+		Bitmap mask = bitmap.extractAlpha();
+		bitmap.recycle();
+		LOGGER.trace("Decoded the shadow mask generated at build time");
+		return mask;
+	}
+
+	/**
+	 * Returns the resource id of the mask generated at build time for the
+	 * specified circle size and shadow radius
+	 *
+	 * @param density screen density
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return resource id of the mask or 0 if there is no such mask generated
+	 */
+	private static int getPrebakedMaskResId(float density, float circleSize, float shadowRadius) {
+		if (Math.abs(shadowRadius - PREBAKED_SHADOW_RADIUS * density) > PREBAKED_TOLERANCE) {
+			return 0;
+		}
+		for (int i = 0; i < PREBAKED_DENSITIES.length; i++) {
+			if (PREBAKED_DENSITIES[i] == density) {
+				for (ActionButton.Type type : ActionButton.Type.values()) {
+					if (Math.abs(circleSize - type.getSize() * density) <= PREBAKED_TOLERANCE) {
+						switch (type) {
+							case MINI:
+								return PREBAKED_MINI_MASKS[i];
+							case BIG:
+								return PREBAKED_BIG_MASKS[i];
+							default:
+								return PREBAKED_DEFAULT_MASKS[i];
+						}
+					}
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Cache key of the shadow mask
+	 */
+	private static final class Key {
+
+		/**
+		 * Circle size in actual pixels
+		 */
+		private float circleSize;
+
+		/**
+		 * Shadow radius in actual pixels
+		 */
+		private float shadowRadius;
+
+		/**
+		 * Creates the {@link Key} instance
+		 *
+		 * @param circleSize circle size in actual pixels
+		 * @param shadowRadius shadow radius in actual pixels
+		 */
+		private Key(float circleSize, float shadowRadius) {
+			set(circleSize, shadowRadius);
+		}
+
+		/**
+		 * Sets the key parameters
+		 * <p>
+		 * Must be called on the {@link #LOOKUP_KEY} only, since the keys,
+		 * which are put into the maps, must not change
+		 *
+		 * @param circleSize circle size in actual pixels
+		 * @param shadowRadius shadow radius in actual pixels
+		 */
+		private void set(float circleSize, float shadowRadius) {
+			this.circleSize = circleSize;
+			this.shadowRadius = shadowRadius;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return Float.compare(key.circleSize, circleSize) == 0
+					&& Float.compare(key.shadowRadius, shadowRadius) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Float.floatToIntBits(circleSize);
+			result = 31 * result + Float.floatToIntBits(shadowRadius);
+			return result;
+		}
+
+	}
+
+}
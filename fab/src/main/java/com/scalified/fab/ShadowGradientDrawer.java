@@ -0,0 +1,255 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+
+/**
+ * A class responsible for drawing the <b>Action Button</b> shadow
+ * with the radial gradient
+ * <p>
+ * The gradient approximates the Gaussian falloff of the blurred circle, so that
+ * neither the bitmap memory nor the software layer is needed and the drawing cost
+ * doesn't depend on the shadow radius
+ * <p>
+ * The gradient is created once for the <b>Action Button</b> shadow radius and
+ * is scaled to the radius being drawn, so that the Shadow Responsive Effect
+ * doesn't allocate a new gradient each frame
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ShadowGradientDrawer extends EffectDrawer {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(ShadowGradientDrawer.class);
+
+	/**
+	 * The factor, which is used for converting the shadow radius into the blur sigma
+	 * the same way as {@link Paint#setShadowLayer(float, float, float, int)} does
+	 */
+	private static final float BLUR_SIGMA_FACTOR = 0.57735f;
+
+	/**
+	 * The offset, which is used for converting the shadow radius into the blur sigma
+	 * the same way as {@link Paint#setShadowLayer(float, float, float, int)} does
+	 */
+	private static final float BLUR_SIGMA_OFFSET = 0.5f;
+
+	/**
+	 * The number of blur sigmas, which the gradient spreads on each side of the circle edge
+	 */
+	private static final float GRADIENT_EXTENT = 3.0f;
+
+	/**
+	 * The number of the gradient color stops
+	 */
+	private static final int GRADIENT_STOPS_COUNT = 12;
+
+	/**
+	 * Radius of the gradient shader, which is then scaled to the gradient radius
+	 */
+	private static final float GRADIENT_SHADER_RADIUS = 256.0f;
+
+	/**
+	 * Paint, which is used for drawing the gradient
+	 */
+	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Gradient colors
+	 */
+	private final int[] colors = new int[GRADIENT_STOPS_COUNT];
+
+	/**
+	 * Relative positions of the gradient colors
+	 */
+	private final float[] positions = new float[GRADIENT_STOPS_COUNT];
+
+	/**
+	 * Matrix, which is used for scaling the gradient shader to the gradient radius
+	 */
+	private final Matrix shaderMatrix = new Matrix();
+
+	/**
+	 * Current gradient shader
+	 */
+	private Shader shader;
+
+	/**
+	 * Circle size, which the current gradient was created for
+	 */
+	private float gradientCircleSize;
+
+	/**
+	 * Shadow radius, which the current gradient was created for
+	 */
+	private float gradientShadowRadius;
+
+	/**
+	 * Shadow color, which the current gradient was created for
+	 */
+	private int gradientShadowColor;
+
+	/**
+	 * Creates the {@link ShadowGradientDrawer} instance
+	 *
+	 * @param actionButton <b>Action Button</b> instance
+	 */
+	ShadowGradientDrawer(ActionButton actionButton) {
+		super(actionButton);
+	}
+
+	/**
+	 * Draws the shadow with the <b>Action Button</b> shadow radius
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 */
+	@Override
+	void draw(Canvas canvas) {
+		draw(canvas, getActionButton().getShadowRadius());
+	}
+
+	/**
+	 * Draws the shadow with the specified shadow radius
+	 * <p>
+	 * The gradient is centered below the <b>Action Button</b> circle and
+	 * shifted by the shadow X- and Y-axis offsets
+	 * <p>
+	 * The gradient created for the <b>Action Button</b> shadow radius is scaled
+	 * to the specified one, which keeps the falloff exact for the
+	 * <b>Action Button</b> shadow radius and approximates it for the other ones
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param shadowRadius shadow radius in actual pixels
+	 */
+	void draw(Canvas canvas, float shadowRadius) {
+		if (shadowRadius <= 0.0f) {
+			return;
+		}
+		ActionButton actionButton = getActionButton();
+		float circleSize = actionButton.getSize();
+		updateGradient(circleSize, actionButton.getShadowRadius(), actionButton.getShadowColor());
+		float gradientRadius = calculateGradientRadius(circleSize, shadowRadius);
+		float scale = gradientRadius / GRADIENT_SHADER_RADIUS;
+		shaderMatrix.setScale(scale, scale);
+		shader.setLocalMatrix(shaderMatrix);
+		canvas.save();
+		canvas.translate(actionButton.calculateCenterX() + actionButton.getShadowXOffset(),
+				actionButton.calculateCenterY() + actionButton.getShadowYOffset());
+		canvas.drawCircle(0.0f, 0.0f, gradientRadius, paint);
+		canvas.restore();
+		LOGGER.trace("Drawn the Action Button shadow gradient");
+	}
+
+	/**
+	 * Recreates the gradient shader centered at the origin if any of the parameters changed
+	 * <p>
+	 * The shader is created with the {@link #GRADIENT_SHADER_RADIUS} radius and
+	 * is scaled while drawing
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @param shadowColor shadow color
+	 */
+	private void updateGradient(float circleSize, float shadowRadius, int shadowColor) {
+		if (shader != null && gradientCircleSize == circleSize
+				&& gradientShadowRadius == shadowRadius && gradientShadowColor == shadowColor) {
+			return;
+		}
+		float circleRadius = circleSize / 2.0f;
+		float sigma = calculateSigma(shadowRadius);
+		float gradientRadius = calculateGradientRadius(circleSize, shadowRadius);
+		float innerRadius = Math.max(0.0f, circleRadius - sigma * GRADIENT_EXTENT);
+		int alpha = Color.alpha(shadowColor);
+		int rgb = shadowColor & 0x00FFFFFF;
+		for (int i = 0; i < GRADIENT_STOPS_COUNT; i++) {
+			float distance = innerRadius + (gradientRadius - innerRadius) * i / (GRADIENT_STOPS_COUNT - 1);
+			float coverage = calculateCoverage(distance - circleRadius, sigma);
+			positions[i] = distance / gradientRadius;
+			colors[i] = Math.round(alpha * coverage) << 24 | rgb;
+		}
+		shader = new RadialGradient(0.0f, 0.0f, GRADIENT_SHADER_RADIUS, colors, positions,
+				Shader.TileMode.CLAMP);
+		paint.setShader(shader);
+		gradientCircleSize = circleSize;
+		gradientShadowRadius = shadowRadius;
+		gradientShadowColor = shadowColor;
+		LOGGER.trace("Created the shadow gradient for the shadow radius: {}", shadowRadius);
+	}
+
+	/**
+	 * Calculates the radius of the gradient, which spreads {@link #GRADIENT_EXTENT}
+	 * blur sigmas outside the circle edge
+	 *
+	 * @param circleSize circle size in actual pixels
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return gradient radius in actual pixels
+	 */
+	private static float calculateGradientRadius(float circleSize, float shadowRadius) {
+		return circleSize / 2.0f + calculateSigma(shadowRadius) * GRADIENT_EXTENT;
+	}
+
+	/**
+	 * Converts the shadow radius into the blur sigma
+	 *
+	 * @param shadowRadius shadow radius in actual pixels
+	 * @return blur sigma
+	 */
+	private static float calculateSigma(float shadowRadius) {
+		return shadowRadius * BLUR_SIGMA_FACTOR + BLUR_SIGMA_OFFSET;
+	}
+
+	/**
+	 * Calculates the coverage of the blurred circle at the specified distance
+	 * from its edge
+	 * <p>
+	 * Uses the one-dimensional Gaussian falloff, which is accurate enough as long
+	 * as the circle radius is greater than the blur sigma
+	 *
+	 * @param distance distance from the circle edge, which is negative inside the circle
+	 * @param sigma blur sigma
+	 * @return coverage within {@code [0.0f, 1.0f]} range
+	 */
+	private static float calculateCoverage(float distance, float sigma) {
+		return 0.5f * (1.0f - erf(distance / (sigma * (float) Math.sqrt(2.0))));
+	}
+
+	/**
+	 * Calculates the error function using the Abramowitz and Stegun approximation,
+	 * which maximum error is about {@code 1.5e-7}
+	 *
+	 * @param x function argument
+	 * @return error function value
+	 */
+	private static float erf(float x) {
+		float t = 1.0f / (1.0f + 0.3275911f * Math.abs(x));
+		float polynomial = t * (0.254829592f + t * (-0.284496736f + t * (1.421413741f
+				+ t * (-1.453152027f + t * 1.061405429f))));
+		float value = 1.0f - polynomial * (float) Math.exp(-x * x);
+		return x >= 0.0f ? value : -value;
+	}
+
+}
@@ -16,14 +16,22 @@
 
 package com.scalified.fab;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import android.view.animation.AccelerateDecelerateInterpolator;
 
 /**
  * A class responsible for drawing the <b>Action Button</b>
  * Shadow Responsive Effect
+ * <p>
+ * The effect is played from the fixed number of pre-blurred keyframes between
+ * the minimum and the maximum shadow radius, which are obtained from the
+ * {@link ShadowCache}, so that each step costs a bitmap blit instead of a blur.
+ * The nearest keyframe is upscaled to the current shadow radius instead of
+ * blending the two neighbouring ones, since blending the alpha masks darkens
+ * the shadow between the keyframes. Keyframes, which are not rendered yet,
+ * are substituted by the nearest rendered ones. The radial gradient is drawn
+ * instead if none of the keyframes is rendered and the nearest one failed to render
  *
  * @author shell
  * @version 1.1.0
@@ -34,7 +42,7 @@ class ShadowResponsiveDrawer extends EffectDrawer {
 	/**
 	 * Logger
 	 */
-	private static final Logger LOGGER = LoggerFactory.getLogger(ShadowResponsiveDrawer.class);
+	private static final Logger LOGGER = Logger.getLogger(ShadowResponsiveDrawer.class);
 
 	/**
 	 * The default factor, which is used as multiplier for determining
@@ -43,16 +51,49 @@ class ShadowResponsiveDrawer extends EffectDrawer {
 	private static final float SHADOW_RESPONSE_FACTOR = 1.75f;
 
 	/**
-	 * The default step, which is used for incrementing the shadow
-	 * radius while drawing the Shadow Responsive Effect
+	 * Duration of the shadow enlargement from the minimum up to the maximum
+	 * radius in milliseconds
+	 */
+	private static final long SHADOW_RESPONSE_DURATION_MS = 300;
+
+	/**
+	 * The number of pre-blurred keyframes, which the effect is played from
 	 */
-	private static final float SHADOW_DRAWING_STEP = 0.5f;
+	private static final int SHADOW_KEYFRAMES_COUNT = 6;
 
 	/**
 	 * Current shadow radius
 	 */
 	private float currentShadowRadius;
 
+	/**
+	 * Shadow enlargement animation, which is played forward while pressed and
+	 * backward once released
+	 */
+	private final EffectAnimation response = new EffectAnimation(SHADOW_RESPONSE_DURATION_MS,
+			new AccelerateDecelerateInterpolator());
+
+	/**
+	 * Pre-blurred keyframes, which are obtained lazily
+	 */
+	private final Bitmap[] keyframes = new Bitmap[SHADOW_KEYFRAMES_COUNT];
+
+	/**
+	 * Circle size, which the current {@link #keyframes} were obtained for
+	 */
+	private float keyframesCircleSize;
+
+	/**
+	 * Minimum shadow radius, which the current {@link #keyframes} were obtained for
+	 */
+	private float keyframesMinShadowRadius;
+
+	/**
+	 * Determines whether the Shadow Responsive Effect animation was running
+	 * within the previous frame
+	 */
+	private boolean responding;
+
 	/**
 	 * Creates the {@link ShadowResponsiveDrawer} instance
 	 *
@@ -65,17 +106,116 @@ class ShadowResponsiveDrawer extends EffectDrawer {
 
 	/**
 	 * Draws the Shadow Responsive Effect
+	 * <p>
+	 * The current shadow radius is drawn from the nearest keyframe
+	 * or directly with the radial gradient if {@link ActionButton.ShadowRenderer#GRADIENT}
+	 * renderer used
 	 *
 	 * @param canvas canvas, on which the drawing is to be performed
 	 */
 	@Override
 	void draw(Canvas canvas) {
 		updateRadius();
-		getActionButton().getPaint().setShadowLayer(currentShadowRadius, getActionButton().getShadowXOffset(),
-				getActionButton().getShadowYOffset(), getActionButton().getShadowColor());
+		if (getActionButton().getShadowRenderer() == ActionButton.ShadowRenderer.GRADIENT) {
+			((ShadowGradientDrawer) getActionButton().shadowGradientDrawer).draw(canvas, currentShadowRadius);
+			LOGGER.trace("Drawn the next Shadow Responsive Effect step");
+			return;
+		}
+		float shadowRadiusRange = getMaxShadowRadius() - getMinShadowRadius();
+		float progress = shadowRadiusRange > 0.0f
+				? (currentShadowRadius - getMinShadowRadius()) / shadowRadiusRange : 0.0f;
+		float position = Math.max(0.0f, Math.min(1.0f, progress)) * (SHADOW_KEYFRAMES_COUNT - 1);
+		int index = Math.round(position);
+		obtainKeyframe(index);
+		if (!drawNearestKeyframe(canvas, index)
+				&& ShadowCache.hasFailed(getActionButton().getSize(), getKeyframeShadowRadius(index))) {
+			((ShadowGradientDrawer) getActionButton().shadowGradientDrawer).draw(canvas, currentShadowRadius);
+		}
 		LOGGER.trace("Drawn the next Shadow Responsive Effect step");
 	}
 
+	/**
+	 * Draws the rendered keyframe, which is the nearest to the specified index,
+	 * scaled to the current shadow radius
+	 * <p>
+	 * Nothing is drawn if none of the keyframes is rendered yet
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param index desired keyframe index
+	 * @return true if any of the keyframes was drawn, otherwise false
+	 */
+	private boolean drawNearestKeyframe(Canvas canvas, int index) {
+		for (int distance = 0; distance < SHADOW_KEYFRAMES_COUNT; distance++) {
+			if (drawKeyframe(canvas, index - distance) || drawKeyframe(canvas, index + distance)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Draws the keyframe for the specified index scaled to the current shadow
+	 * radius if it is rendered
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param index keyframe index
+	 * @return true if the keyframe was drawn, otherwise false
+	 */
+	private boolean drawKeyframe(Canvas canvas, int index) {
+		if (index < 0 || index >= SHADOW_KEYFRAMES_COUNT || keyframes[index] == null) {
+			return false;
+		}
+		((ShadowBitmapDrawer) getActionButton().shadowBitmapDrawer).drawMask(canvas, keyframes[index],
+				currentShadowRadius);
+		return true;
+	}
+
+	/**
+	 * Schedules the rendering of all of the keyframes, which are not rendered yet
+	 */
+	void prepare() {
+		for (int i = 0; i < SHADOW_KEYFRAMES_COUNT; i++) {
+			obtainKeyframe(i);
+		}
+	}
+
+	/**
+	 * Returns the keyframe for the specified index
+	 * <p>
+	 * All of the keyframes are dropped if the circle size or the minimum shadow
+	 * radius changed
+	 *
+	 * @param index keyframe index
+	 * @return keyframe for the specified index or null if it is not rendered yet
+	 */
+	private Bitmap obtainKeyframe(int index) {
+		float circleSize = getActionButton().getSize();
+		float minShadowRadius = getMinShadowRadius();
+		if (keyframesCircleSize != circleSize || keyframesMinShadowRadius != minShadowRadius) {
+			for (int i = 0; i < SHADOW_KEYFRAMES_COUNT; i++) {
+				keyframes[i] = null;
+			}
+			keyframesCircleSize = circleSize;
+			keyframesMinShadowRadius = minShadowRadius;
+			LOGGER.trace("Dropped the Shadow Responsive Effect keyframes");
+		}
+		if (keyframes[index] == null) {
+			keyframes[index] = ShadowCache.get(circleSize, getKeyframeShadowRadius(index), getActionButton());
+		}
+		return keyframes[index];
+	}
+
+	/**
+	 * Returns the shadow radius of the keyframe for the specified index
+	 *
+	 * @param index keyframe index
+	 * @return shadow radius of the keyframe
+	 */
+	float getKeyframeShadowRadius(int index) {
+		float shadowRadiusRange = getMaxShadowRadius() - getMinShadowRadius();
+		return getMinShadowRadius() + shadowRadiusRange * index / (SHADOW_KEYFRAMES_COUNT - 1);
+	}
+
 	/**
 	 * Initializes the {@link ShadowResponsiveDrawer} instance
 	 */
@@ -85,18 +225,30 @@ class ShadowResponsiveDrawer extends EffectDrawer {
 
 	/**
 	 * Updates the {@link #currentShadowRadius} depending on the current state
+	 * <p>
+	 * The shadow radius is calculated from the current frame time, so that the
+	 * effect takes the same time regardless of the frame rate
 	 */
 	void updateRadius() {
-		if (isPressed() && currentShadowRadius < getMaxShadowRadius()) {
-			currentShadowRadius += SHADOW_DRAWING_STEP;
-			getActionButton().getInvalidator().requireInvalidation();
-		} else if (!isPressed() && currentShadowRadius > getMinShadowRadius()) {
-			currentShadowRadius -= SHADOW_DRAWING_STEP;
+		long time = EffectAnimation.currentTime();
+		response.setForward(isPressed(), time);
+		boolean running = response.advance(time);
+		if (running) {
 			getActionButton().getInvalidator().requireInvalidation();
-		} else if (!isPressed()){
-			currentShadowRadius = getActionButton().getShadowRadius();
 		}
-		LOGGER.trace("Updated Shadow Responsive Effect current radius to: {}", currentShadowRadius);
+		currentShadowRadius = getMinShadowRadius()
+				+ (getMaxShadowRadius() - getMinShadowRadius()) * response.getValue();
+		if (running) {
+			DiagnosticLog.record(DiagnosticLog.EVENT_SHADOW_RESPONSE, getActionButton(),
+					currentShadowRadius, 0.0f, 0.0f, 0.0f);
+		}
+		if (running || responding) {
+			getActionButton().onShadowResponseFrame(!running);
+		}
+		responding = running;
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Updated Shadow Responsive Effect current radius to: {}", currentShadowRadius);
+		}
 	}
 
 	/**
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Build;
+
+/**
+ * Caches the static parts of the <b>Action Button</b> in bitmap layers
+ * <p>
+ * The main circle is cached for both {@link ActionButton.State#NORMAL} and
+ * {@link ActionButton.State#PRESSED} colors, the stroke and the image are cached
+ * together in the overlay layer. Layers are rendered lazily on the first drawing,
+ * so that the effect frames only composite the cached layers instead of redrawing
+ * the static parts
+ * <p>
+ * Layers are used on the software canvas only. The hardware canvas records
+ * the drawing into the display list, which already replays the static parts
+ * cheaply, while the cached bitmaps would take the memory and the texture
+ * uploads, so that the static parts are drawn directly on it
+ * <p>
+ * Layers are marked to be rendered again by {@link #invalidateCircles()},
+ * {@link #invalidateOverlay()} or {@link #invalidate()}, which must be called
+ * whenever the corresponding static appearance of the <b>Action Button</b> changes.
+ * The existing bitmaps are erased and reused by the next rendering, so that they
+ * are reallocated only if the layer size changes
+ * <p>
+ * The overlay layer is not used while the image is animating, i.e. while the
+ * image requests the invalidation before each drawing, since the layer would be
+ * rendered again on each frame anyway
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class StaticLayerCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(StaticLayerCache.class);
+
+	/**
+	 * Margin in actual pixels around the layer content, which keeps the
+	 * anti-aliased edges inside the layer
+	 */
+	private static final int LAYER_MARGIN = 1;
+
+	/**
+	 * Paint, which is used for drawing the layers
+	 */
+	private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+	/**
+	 * Main circle layers indexed by {@link #getCircleLayerIndex(boolean)}
+	 */
+	private final Bitmap[] circleLayers = new Bitmap[2];
+
+	/**
+	 * Determines whether the main circle layers indexed by
+	 * {@link #getCircleLayerIndex(boolean)} need to be rendered again
+	 */
+	private final boolean[] circleLayersDirty = new boolean[2];
+
+	/**
+	 * Stroke and image layer
+	 */
+	private Bitmap overlayLayer;
+
+	/**
+	 * Determines whether the {@link #overlayLayer} needs to be rendered again
+	 */
+	private boolean overlayLayerDirty;
+
+	/**
+	 * Determines whether the image requested the invalidation since the
+	 * previous drawing of the overlay
+	 */
+	private boolean imageInvalidated;
+
+	/**
+	 * Canvas, which is used for rendering the layers
+	 */
+	private final Canvas layerCanvas = new Canvas();
+
+	/**
+	 * X-axis coordinate of the layers left edge
+	 */
+	private int layerLeft;
+
+	/**
+	 * Y-axis coordinate of the layers top edge
+	 */
+	private int layerTop;
+
+	/**
+	 * Side of the square layers in actual pixels
+	 */
+	private int layerSize;
+
+	/**
+	 * <b>Action Button</b> instance
+	 */
+	private final ActionButton actionButton;
+
+	/**
+	 * Creates the {@link StaticLayerCache} instance
+	 *
+	 * @param actionButton <b>Action Button</b> instance
+	 */
+	StaticLayerCache(ActionButton actionButton) {
+		this.actionButton = actionButton;
+	}
+
+	/**
+	 * Draws the cached main circle layer
+	 * <p>
+	 * The circle is drawn directly on the hardware canvas or if the layer
+	 * can't be rendered
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 * @param pressed true to draw the {@link ActionButton.State#PRESSED} circle,
+	 *                otherwise false
+	 */
+	void drawCircle(Canvas canvas, boolean pressed) {
+		if (isHardwareCanvas(canvas)) {
+			release();
+			actionButton.resetPaint();
+			actionButton.drawCircleFill(canvas, pressed);
+			return;
+		}
+		updateBounds();
+		int index = getCircleLayerIndex(pressed);
+		if (circleLayers[index] == null || circleLayersDirty[index]) {
+			circleLayers[index] = renderLayer(circleLayers[index], false, pressed);
+			circleLayersDirty[index] = false;
+		}
+		if (circleLayers[index] != null) {
+			canvas.drawBitmap(circleLayers[index], layerLeft, layerTop, paint);
+			LOGGER.trace("Drawn the cached Action Button circle layer");
+		} else {
+			actionButton.resetPaint();
+			actionButton.drawCircleFill(canvas, pressed);
+		}
+	}
+
+	/**
+	 * Draws the cached stroke and image layer
+	 * <p>
+	 * The stroke and the image are drawn directly on the hardware canvas, while
+	 * the image is animating or if the layer can't be rendered
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 */
+	void drawOverlay(Canvas canvas) {
+		if (isHardwareCanvas(canvas)) {
+			release();
+			drawOverlayContent(canvas);
+			return;
+		}
+		updateBounds();
+		boolean imageAnimating = imageInvalidated;
+		imageInvalidated = false;
+		if (imageAnimating) {
+			drawOverlayContent(canvas);
+			LOGGER.trace("Drawn the Action Button overlay without the layer while the image is animating");
+			return;
+		}
+		if (overlayLayer == null || overlayLayerDirty) {
+			overlayLayer = renderLayer(overlayLayer, true, false);
+			overlayLayerDirty = false;
+		}
+		if (overlayLayer != null) {
+			canvas.drawBitmap(overlayLayer, layerLeft, layerTop, paint);
+			LOGGER.trace("Drawn the cached Action Button overlay layer");
+		} else {
+			drawOverlayContent(canvas);
+		}
+	}
+
+	/**
+	 * Marks all of the cached layers to be rendered again on the next drawing
+	 */
+	void invalidate() {
+		invalidateCircles();
+		invalidateOverlay();
+	}
+
+	/**
+	 * Marks the main circle layers to be rendered again on the next drawing
+	 */
+	void invalidateCircles() {
+		circleLayersDirty[getCircleLayerIndex(false)] = true;
+		circleLayersDirty[getCircleLayerIndex(true)] = true;
+		LOGGER.trace("Invalidated the Action Button circle layers");
+	}
+
+	/**
+	 * Marks the stroke and image layer to be rendered again on the next drawing
+	 */
+	void invalidateOverlay() {
+		overlayLayerDirty = true;
+		LOGGER.trace("Invalidated the Action Button overlay layer");
+	}
+
+	/**
+	 * Marks the stroke and image layer to be rendered again once the image
+	 * stops animating
+	 * <p>
+	 * Called whenever the image requests the invalidation, so that the next
+	 * overlay is drawn without the layer
+	 */
+	void invalidateImage() {
+		overlayLayerDirty = true;
+		imageInvalidated = true;
+	}
+
+	/**
+	 * Drops the cached layers if any, so that their memory is released
+	 * <p>
+	 * Called once the <b>Action Button</b> is drawn on the hardware canvas
+	 * or detached from the window
+	 */
+	void release() {
+		if (circleLayers[0] != null || circleLayers[1] != null || overlayLayer != null) {
+			circleLayers[getCircleLayerIndex(false)] = null;
+			circleLayers[getCircleLayerIndex(true)] = null;
+			overlayLayer = null;
+			LOGGER.trace("Released the Action Button static layers");
+		}
+	}
+
+	/**
+	 * Checks whether the specified canvas is hardware accelerated
+	 *
+	 * @param canvas canvas to check
+	 * @return true if the canvas is hardware accelerated, otherwise false
+	 */
+	@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+	private static boolean isHardwareCanvas(Canvas canvas) {
+		return Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && canvas.isHardwareAccelerated();
+	}
+
+	/**
+	 * Recalculates the layer bounds and invalidates the cached layers if they
+	 * changed
+	 * <p>
+	 * The cached layers are dropped if the layer size changed, since their
+	 * bitmaps can't be reused
+	 * <p>
+	 * The layer is aligned to the whole pixels, so that the cached content is
+	 * rasterized exactly the same way as if it was drawn directly
+	 */
+	private void updateBounds() {
+		float contentSize = Math.max(actionButton.getSize() + actionButton.getStrokeWidth(),
+				actionButton.getImageSize());
+		int size = (int) Math.ceil(contentSize) + LAYER_MARGIN * 2;
+		int left = (int) Math.floor(actionButton.calculateCenterX() - size / 2.0f);
+		int top = (int) Math.floor(actionButton.calculateCenterY() - size / 2.0f);
+		if (size != layerSize) {
+			release();
+		}
+		if (size != layerSize || left != layerLeft || top != layerTop) {
+			invalidate();
+			layerSize = size;
+			layerLeft = left;
+			layerTop = top;
+		}
+	}
+
+	/**
+	 * Renders the layer
+	 * <p>
+	 * The specified layer is erased and rendered again if present, otherwise
+	 * the new layer is created
+	 *
+	 * @param layer layer to be rendered again or null
+	 * @param overlay true to render the stroke and image layer,
+	 *                false to render the main circle layer
+	 * @param pressed true to render the {@link ActionButton.State#PRESSED} circle,
+	 *                otherwise false
+	 * @return rendered layer or null if the layer can't be rendered
+	 */
+	private Bitmap renderLayer(Bitmap layer, boolean overlay, boolean pressed) {
+		if (layerSize <= 0) {
+			return null;
+		}
+		try {
+			if (layer == null) {
+				layer = Bitmap.createBitmap(layerSize, layerSize, Bitmap.Config.ARGB_8888);
+			} else {
+				layer.eraseColor(0);
+			}
+			layerCanvas.setBitmap(layer);
+			int saveCount = layerCanvas.save();
+			layerCanvas.translate(-layerLeft, -layerTop);
+			if (overlay) {
+				drawOverlayContent(layerCanvas);
+			} else {
+				actionButton.resetPaint();
+				actionButton.drawCircleFill(layerCanvas, pressed);
+			}
+			layerCanvas.restoreToCount(saveCount);
+			layerCanvas.setBitmap(null);
+			LOGGER.trace("Rendered the Action Button {} layer", overlay ? "overlay" : "circle");
+			return layer;
+		} catch (OutOfMemoryError e) {
+			LOGGER.error("Failed to render the Action Button static layer", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Draws the stroke and the image if present
+	 *
+	 * @param canvas canvas, on which the drawing is to be performed
+	 */
+	private void drawOverlayContent(Canvas canvas) {
+		if (actionButton.hasStroke()) {
+			actionButton.drawStroke(canvas);
+		}
+		if (actionButton.hasImage()) {
+			actionButton.drawImage(canvas);
+		}
+	}
+
+	/**
+	 * Returns the index of the main circle layer
+	 *
+	 * @param pressed true for the {@link ActionButton.State#PRESSED} circle,
+	 *                otherwise false
+	 * @return index of the main circle layer
+	 */
+	private static int getCircleLayerIndex(boolean pressed) {
+		return pressed ? 1 : 0;
+	}
+
+}
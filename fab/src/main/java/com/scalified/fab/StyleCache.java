@@ -0,0 +1,416 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Process-wide cache of the resolved <b>Action Button</b> attributes
+ * <p>
+ * Snapshots of the resolved attributes are cached per theme by the default style
+ * and by the <b>Action Button</b> attributes declared within the XML tag, so that
+ * identical <b>Action Buttons</b>, e.g. within the list items, resolve their attributes
+ * once and then inflate with the cache hit. The cache of the theme is dropped once the
+ * configuration of the resources changes and is released together with the theme
+ * <p>
+ * Attributes must not be cached if the theme is modified after the <b>Action Buttons</b>
+ * were inflated, in which case the cache must be cleared
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class StyleCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(StyleCache.class);
+
+	/**
+	 * Maximum number of the snapshots cached per theme
+	 */
+	private static final int MAX_STYLES_PER_THEME = 32;
+
+	/**
+	 * {@link R.styleable#ActionButton} attributes sorted for the binary search
+	 */
+	private static final int[] ATTRIBUTES = sortAttributes();
+
+	/**
+	 * Key, which is reused for looking up the snapshots, so that the lookups
+	 * don't allocate while the <b>Action Buttons</b> are inflated
+	 */
+	private static final Key LOOKUP_KEY = new Key(ATTRIBUTES.length);
+
+	/**
+	 * Snapshots mapped to the themes, which they were resolved with
+	 */
+	private static final Map<Resources.Theme, ThemeStyles> THEMES = new WeakHashMap<>();
+
+	/**
+	 * Determines whether the snapshots are cached
+	 */
+	private static boolean enabled = true;
+
+	/**
+	 * Number of times a snapshot was found in the cache
+	 */
+	private static int hitCount;
+
+	/**
+	 * Number of times a snapshot was missing in the cache and had to be resolved
+	 */
+	private static int missCount;
+
+	/**
+	 * Prevents from instantiating
+	 */
+	private StyleCache() {
+	}
+
+	/**
+	 * Checks whether the snapshots are cached
+	 *
+	 * @return true if the snapshots are cached, otherwise false
+	 */
+	public static synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables caching of the snapshots and clears the cache
+	 * <p>
+	 * Caching is enabled by default
+	 *
+	 * @param enabled true to cache the snapshots, otherwise false
+	 */
+	public static synchronized void setEnabled(boolean enabled) {
+		StyleCache.enabled = enabled;
+		THEMES.clear();
+		LOGGER.trace("{} the style cache", enabled ? "Enabled" : "Disabled");
+	}
+
+	/**
+	 * Returns the number of times a snapshot was found in the cache
+	 *
+	 * @return number of cache hits
+	 */
+	public static synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of times a snapshot was missing in the cache and had to be resolved
+	 *
+	 * @return number of cache misses
+	 */
+	public static synchronized int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Evicts all of the snapshots from the cache
+	 */
+	public static synchronized void clear() {
+		THEMES.clear();
+		LOGGER.trace("Cleared style cache");
+	}
+
+	/**
+	 * Returns the snapshot of the <b>Action Button</b> attributes resolved with
+	 * the specified context, attributes and default style
+	 *
+	 * @param context context the view is running in
+	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param defStyleAttr attribute in the current theme that contains a
+	 *        reference to a style resource that supplies default values for
+	 *        the view. Can be 0 to not look for defaults
+	 * @param defStyleRes resource identifier of a style resource that
+	 *        supplies default values for the view. Can be 0 to not look for defaults
+	 * @return snapshot of the resolved attributes
+	 */
+	static ActionButtonStyle resolve(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+		Resources.Theme theme = context.getTheme();
+		Configuration configuration = context.getResources().getConfiguration();
+		Key key = null;
+		synchronized (StyleCache.class) {
+			if (enabled) {
+				LOOKUP_KEY.set(attrs, defStyleAttr, defStyleRes);
+				ThemeStyles styles = THEMES.get(theme);
+				if (styles != null && styles.configuration.equals(configuration)) {
+					ActionButtonStyle style = styles.get(LOOKUP_KEY);
+					if (style != null) {
+						hitCount++;
+						return style;
+					}
+				}
+				key = LOOKUP_KEY.copy();
+			}
+			missCount++;
+		}
+		ActionButtonStyle style = obtain(theme, attrs, defStyleAttr, defStyleRes);
+		if (key != null) {
+			synchronized (StyleCache.class) {
+				if (enabled) {
+					ThemeStyles styles = THEMES.get(theme);
+					if (styles == null || !styles.configuration.equals(configuration)) {
+						styles = new ThemeStyles(configuration);
+						THEMES.put(theme, styles);
+					}
+					styles.put(key, style);
+				}
+			}
+		}
+		LOGGER.trace("Resolved Action Button style");
+		return style;
+	}
+
+	/**
+	 * Resolves the snapshot of the <b>Action Button</b> attributes
+	 *
+	 * @param theme theme, which the attributes are resolved with
+	 * @param attrs attributes of the XML tag that is inflating the view
+	 * @param defStyleAttr attribute in the current theme that contains a
+	 *        reference to a style resource that supplies default values for the view
+	 * @param defStyleRes resource identifier of a style resource that
+	 *        supplies default values for the view
+	 * @return snapshot of the resolved attributes
+	 */
+	private static ActionButtonStyle obtain(Resources.Theme theme, AttributeSet attrs, int defStyleAttr,
+			int defStyleRes) {
+		TypedArray attributes = theme.obtainStyledAttributes(attrs, R.styleable.ActionButton,
+				defStyleAttr, defStyleRes);
+		try {
+			return new ActionButtonStyle(attributes);
+		} finally {
+			attributes.recycle();
+		}
+	}
+
+	/**
+	 * Checks whether the attribute is one of the {@link R.styleable#ActionButton} attributes
+	 *
+	 * @param nameResource resource identifier of the attribute name
+	 * @return true if the attribute is one of the <b>Action Button</b> attributes,
+	 *         otherwise false
+	 */
+	private static boolean isActionButtonAttribute(int nameResource) {
+		return nameResource != 0 && Arrays.binarySearch(ATTRIBUTES, nameResource) >= 0;
+	}
+
+	/**
+	 * Returns the copy of the {@link R.styleable#ActionButton} attributes sorted
+	 * for the binary search
+	 *
+	 * @return sorted <b>Action Button</b> attributes
+	 */
+	private static int[] sortAttributes() {
+		int[] attributes = R.styleable.ActionButton.clone();
+		Arrays.sort(attributes);
+		return attributes;
+	}
+
+	/**
+	 * Snapshots resolved with the same theme, in access order, so that
+	 * the least recently used snapshot is evicted first
+	 */
+	@SuppressWarnings("serial")
+	private static final class ThemeStyles extends LinkedHashMap<Key, ActionButtonStyle> {
+
+		/**
+		 * Configuration of the resources, which the snapshots were resolved with
+		 */
+		private final Configuration configuration;
+
+		/**
+		 * Creates the {@link ThemeStyles} instance
+		 *
+		 * @param configuration configuration of the resources, which the snapshots
+		 *                      are resolved with
+		 */
+		ThemeStyles(Configuration configuration) {
+			super(16, 0.75f, true);
+			this.configuration = new Configuration(configuration);
+		}
+
+		/**
+		 * Evicts the least recently used snapshot once the maximum number
+		 * of the snapshots is exceeded
+		 *
+		 * @param eldest least recently used snapshot
+		 * @return true if the snapshot must be evicted, otherwise false
+		 */
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, ActionButtonStyle> eldest) {
+			return size() > MAX_STYLES_PER_THEME;
+		}
+
+	}
+
+	/**
+	 * Key, which identifies the attributes within the theme
+	 * <p>
+	 * The key consists of the default style, the style declared within the XML tag
+	 * and the raw values of the <b>Action Button</b> attributes declared within
+	 * the XML tag. Other attributes, such as the id or the layout parameters,
+	 * don't affect the <b>Action Button</b> attributes and are skipped
+	 */
+	private static final class Key {
+
+		/**
+		 * Attribute in the current theme that contains a reference to a style
+		 * resource that supplies default values for the view
+		 */
+		private int defStyleAttr;
+
+		/**
+		 * Resource identifier of a style resource that supplies default values
+		 * for the view
+		 */
+		private int defStyleRes;
+
+		/**
+		 * Style declared within the XML tag
+		 */
+		private int styleAttribute;
+
+		/**
+		 * Resource identifiers of the names of the declared <b>Action Button</b> attributes
+		 */
+		private final int[] names;
+
+		/**
+		 * Raw values of the declared <b>Action Button</b> attributes
+		 */
+		private final String[] values;
+
+		/**
+		 * Number of the declared <b>Action Button</b> attributes
+		 */
+		private int count;
+
+		/**
+		 * Hash code, which is calculated once the key is set
+		 */
+		private int hash;
+
+		/**
+		 * Creates the {@link Key} instance
+		 *
+		 * @param capacity maximum number of the declared attributes
+		 */
+		private Key(int capacity) {
+			names = new int[capacity];
+			values = new String[capacity];
+		}
+
+		/**
+		 * Sets the key parameters
+		 * <p>
+		 * Must be called on the {@link #LOOKUP_KEY} only, since the keys,
+		 * which are put into the maps, must not change
+		 *
+		 * @param attrs attributes of the XML tag that is inflating the view
+		 * @param defStyleAttr attribute in the current theme that contains a
+		 *        reference to a style resource that supplies default values for the view
+		 * @param defStyleRes resource identifier of a style resource that
+		 *        supplies default values for the view
+		 */
+		private void set(AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+			this.defStyleAttr = defStyleAttr;
+			this.defStyleRes = defStyleRes;
+			styleAttribute = 0;
+			count = 0;
+			if (attrs != null) {
+				styleAttribute = attrs.getStyleAttribute();
+				int attributeCount = attrs.getAttributeCount();
+				for (int i = 0; i < attributeCount && count < names.length; i++) {
+					int nameResource = attrs.getAttributeNameResource(i);
+					if (isActionButtonAttribute(nameResource)) {
+						names[count] = nameResource;
+						values[count] = attrs.getAttributeValue(i);
+						count++;
+					}
+				}
+			}
+			int result = defStyleAttr;
+			result = 31 * result + defStyleRes;
+			result = 31 * result + styleAttribute;
+			for (int i = 0; i < count; i++) {
+				result = 31 * result + names[i];
+				result = 31 * result + (values[i] != null ? values[i].hashCode() : 0);
+			}
+			hash = result;
+		}
+
+		/**
+		 * Creates the immutable copy of the key, which may be put into the map
+		 *
+		 * @return copy of the key
+		 */
+		private Key copy() {
+			Key key = new Key(count);
+			key.defStyleAttr = defStyleAttr;
+			key.defStyleRes = defStyleRes;
+			key.styleAttribute = styleAttribute;
+			System.arraycopy(names, 0, key.names, 0, count);
+			System.arraycopy(values, 0, key.values, 0, count);
+			key.count = count;
+			key.hash = hash;
+			return key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			if (key.hash != hash || key.defStyleAttr != defStyleAttr || key.defStyleRes != defStyleRes
+					|| key.styleAttribute != styleAttribute || key.count != count) {
+				return false;
+			}
+			for (int i = 0; i < count; i++) {
+				if (key.names[i] != names[i]
+						|| (values[i] == null ? key.values[i] != null : !values[i].equals(key.values[i]))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+}
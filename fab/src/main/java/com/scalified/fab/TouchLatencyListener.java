@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+/**
+ * Listener, which receives the <b>Action Button</b> touch-to-draw latency,
+ * measured from the {@link android.view.MotionEvent#ACTION_DOWN} event time to
+ * the moment the UI thread finishes drawing the first pressed frame
+ * <p>
+ * The latency doesn't include the time the frame spends in rendering and
+ * composition after it is drawn, so that it is lower than the time until the
+ * pressed frame is actually displayed
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public interface TouchLatencyListener {
+
+	/**
+	 * Called on the UI thread once the first pressed frame is drawn
+	 *
+	 * @param actionButton <b>Action Button</b>, which was pressed
+	 * @param latency touch-to-draw latency, which is the time from the touch down
+	 *                to the end of drawing of the pressed frame in milliseconds
+	 */
+	void onTouchLatency(ActionButton actionButton, long latency);
+
+}
@@ -16,9 +16,6 @@
 
 package com.scalified.fab;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * Entity class, which contains the information about X- and Y-axis
  * coordinates of the touch point
@@ -32,7 +29,7 @@ public final class TouchPoint {
 	/**
 	 * Logger
 	 */
-	private static final Logger LOGGER = LoggerFactory.getLogger(TouchPoint.class);
+	private static final Logger LOGGER = Logger.getLogger(TouchPoint.class);
 
 	/**
 	 * Touch point X-axis coordinate
@@ -82,7 +79,9 @@ public final class TouchPoint {
 	 */
 	final void setX(float x) {
 		this.x = x;
-		LOGGER.trace("Set touch point X-axis coordinate to: {}", getX());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Set touch point X-axis coordinate to: {}", getX());
+		}
 		setLastX(x);
 	}
 
@@ -103,7 +102,9 @@ public final class TouchPoint {
 	 */
 	final void setY(float y) {
 		this.y = y;
-		LOGGER.trace("Set touch point Y-axis coordinate to: {}", getY());
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Set touch point Y-axis coordinate to: {}", getY());
+		}
 		setLastY(y);
 	}
 
@@ -124,7 +125,9 @@ public final class TouchPoint {
 	final void setLastX(float x) {
 		if (x > 0) {
 			this.lastX = x;
-			LOGGER.trace("Set touch point last X-axis coordinate to: {}", getLastX());
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Set touch point last X-axis coordinate to: {}", getLastX());
+			}
 		}
 	}
 
@@ -145,7 +148,9 @@ public final class TouchPoint {
 	final void setLastY(float y) {
 		if (y > 0) {
 			this.lastY = y;
-			LOGGER.trace("Set touch point last Y-axis coordinate to: {}", getLastY());
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Set touch point last Y-axis coordinate to: {}", getLastY());
+			}
 		}
 	}
 
@@ -168,10 +173,24 @@ public final class TouchPoint {
 	 * @return true if touch point is inside the circle, otherwise false
 	 */
 	boolean isInsideCircle(float centerPointX, float centerPointY, float radius) {
-		double xValue = Math.pow((getX() - centerPointX), 2);
-		double yValue = Math.pow((getY() - centerPointY), 2);
-		double radiusValue = Math.pow(radius, 2);
-		boolean touchPointInsideCircle = xValue + yValue <= radiusValue;
+		return isInsideCircle(getX(), getY(), centerPointX, centerPointY, radius);
+	}
+
+	/**
+	 * Checks whether the specified point is inside the circle or not
+	 *
+	 * @param x point X-axis coordinate
+	 * @param y point Y-axis coordinate
+	 * @param centerPointX circle X-axis center coordinate
+	 * @param centerPointY circle Y-axis center coordinate
+	 * @param radius circle radius
+	 *
+	 * @return true if the point is inside the circle, otherwise false
+	 */
+	static boolean isInsideCircle(float x, float y, float centerPointX, float centerPointY, float radius) {
+		float xDistance = x - centerPointX;
+		float yDistance = y - centerPointY;
+		boolean touchPointInsideCircle = xDistance * xDistance + yDistance * yDistance <= radius * radius;
 		LOGGER.trace("Detected touch point {} inside the main circle", touchPointInsideCircle ? "IS" : "IS NOT");
 		return touchPointInsideCircle;
 	}
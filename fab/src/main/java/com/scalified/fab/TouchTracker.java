@@ -0,0 +1,241 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.MotionEvent;
+
+/**
+ * Tracks the gesture, which started inside the main circle of the <b>Action Button</b>,
+ * and reports only the transitions between the pressed and the released states
+ * <p>
+ * The same instance is reused for all of the gestures, so that no objects are
+ * allocated while touching. Movements within the touch slop from the press point
+ * are ignored, while the batched historical samples of the
+ * {@link MotionEvent#ACTION_MOVE} are checked together with the current sample
+ * in a single pass
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+final class TouchTracker {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TouchTracker.class);
+
+	/**
+	 * The motion event caused no transition
+	 */
+	static final int TRANSITION_NONE = 0;
+
+	/**
+	 * The gesture started inside the main circle
+	 */
+	static final int TRANSITION_PRESS = 1;
+
+	/**
+	 * The gesture either finished or left the main circle
+	 */
+	static final int TRANSITION_RELEASE = 2;
+
+	/**
+	 * The gesture was cancelled
+	 */
+	static final int TRANSITION_CANCEL = 3;
+
+	/**
+	 * Square of the distance in pixels, which the touch may move from the press point
+	 * before it is treated as the movement
+	 */
+	private final float touchSlopSquare;
+
+	/**
+	 * Determines whether the gesture, which started inside the main circle, is tracked
+	 */
+	private boolean tracking;
+
+	/**
+	 * Determines whether the tracked touch moved beyond the touch slop
+	 */
+	private boolean moved;
+
+	/**
+	 * Press point X-axis coordinate
+	 */
+	private float downX;
+
+	/**
+	 * Press point Y-axis coordinate
+	 */
+	private float downY;
+
+	/**
+	 * Time of the last transition in milliseconds
+	 */
+	private long transitionTime;
+
+	/**
+	 * Creates the {@link TouchTracker} instance
+	 *
+	 * @param touchSlop distance in pixels, which the touch may move from the press point
+	 *                  before it is treated as the movement
+	 */
+	TouchTracker(float touchSlop) {
+		this.touchSlopSquare = touchSlop * touchSlop;
+	}
+
+	/**
+	 * Handles the motion event and returns the transition it caused
+	 *
+	 * @param event motion event
+	 * @param centerX main circle X-axis center coordinate
+	 * @param centerY main circle Y-axis center coordinate
+	 * @param radius main circle radius
+	 * @return one of {@link #TRANSITION_NONE}, {@link #TRANSITION_PRESS},
+	 *         {@link #TRANSITION_RELEASE} or {@link #TRANSITION_CANCEL}
+	 */
+	int onTouchEvent(MotionEvent event, float centerX, float centerY, float radius) {
+		switch (event.getActionMasked()) {
+			case MotionEvent.ACTION_DOWN:
+				return onDown(event, centerX, centerY, radius);
+			case MotionEvent.ACTION_MOVE:
+				return onMove(event, centerX, centerY, radius);
+			case MotionEvent.ACTION_UP:
+				return finish(event.getEventTime(), TRANSITION_RELEASE);
+			case MotionEvent.ACTION_CANCEL:
+				return finish(event.getEventTime(), TRANSITION_CANCEL);
+			default:
+				LOGGER.trace("Ignored the motion event with action: {}", event.getActionMasked());
+				return TRANSITION_NONE;
+		}
+	}
+
+	/**
+	 * Checks whether the gesture, which started inside the main circle, is tracked
+	 *
+	 * @return true if the gesture is tracked, otherwise false
+	 */
+	boolean isTracking() {
+		return tracking;
+	}
+
+	/**
+	 * Returns the time of the last transition, which is the time of the sample
+	 * that caused it, including the historical one
+	 *
+	 * @return time of the last transition in milliseconds
+	 */
+	long getTransitionTime() {
+		return transitionTime;
+	}
+
+	/**
+	 * Starts tracking the gesture if it started inside the main circle
+	 *
+	 * @param event {@link MotionEvent#ACTION_DOWN} motion event
+	 * @param centerX main circle X-axis center coordinate
+	 * @param centerY main circle Y-axis center coordinate
+	 * @param radius main circle radius
+	 * @return {@link #TRANSITION_PRESS} if the gesture started inside the main circle,
+	 *         otherwise {@link #TRANSITION_NONE}
+	 */
+	private int onDown(MotionEvent event, float centerX, float centerY, float radius) {
+		float x = event.getX();
+		float y = event.getY();
+		if (!TouchPoint.isInsideCircle(x, y, centerX, centerY, radius)) {
+			tracking = false;
+			return TRANSITION_NONE;
+		}
+		tracking = true;
+		moved = false;
+		downX = x;
+		downY = y;
+		transitionTime = event.getEventTime();
+		return TRANSITION_PRESS;
+	}
+
+	/**
+	 * Checks the historical and the current samples of the tracked gesture,
+	 * the oldest first, and stops tracking once the sample beyond the touch slop
+	 * leaves the main circle
+	 *
+	 * @param event {@link MotionEvent#ACTION_MOVE} motion event
+	 * @param centerX main circle X-axis center coordinate
+	 * @param centerY main circle Y-axis center coordinate
+	 * @param radius main circle radius
+	 * @return {@link #TRANSITION_RELEASE} if the gesture left the main circle,
+	 *         otherwise {@link #TRANSITION_NONE}
+	 */
+	private int onMove(MotionEvent event, float centerX, float centerY, float radius) {
+		if (!tracking) {
+			return TRANSITION_NONE;
+		}
+		int historySize = event.getHistorySize();
+		for (int i = 0; i < historySize; i++) {
+			if (leftCircle(event.getHistoricalX(i), event.getHistoricalY(i), centerX, centerY, radius)) {
+				return finish(event.getHistoricalEventTime(i), TRANSITION_RELEASE);
+			}
+		}
+		if (leftCircle(event.getX(), event.getY(), centerX, centerY, radius)) {
+			return finish(event.getEventTime(), TRANSITION_RELEASE);
+		}
+		return TRANSITION_NONE;
+	}
+
+	/**
+	 * Checks whether the sample of the tracked gesture moved beyond the touch slop
+	 * and left the main circle
+	 *
+	 * @param x sample X-axis coordinate
+	 * @param y sample Y-axis coordinate
+	 * @param centerX main circle X-axis center coordinate
+	 * @param centerY main circle Y-axis center coordinate
+	 * @param radius main circle radius
+	 * @return true if the sample left the main circle, otherwise false
+	 */
+	private boolean leftCircle(float x, float y, float centerX, float centerY, float radius) {
+		if (!moved) {
+			float xDistance = x - downX;
+			float yDistance = y - downY;
+			if (xDistance * xDistance + yDistance * yDistance <= touchSlopSquare) {
+				return false;
+			}
+			moved = true;
+		}
+		return !TouchPoint.isInsideCircle(x, y, centerX, centerY, radius);
+	}
+
+	/**
+	 * Stops tracking the gesture
+	 *
+	 * @param time time of the motion event in milliseconds
+	 * @param transition transition to report if the gesture was tracked
+	 * @return the specified transition if the gesture was tracked,
+	 *         otherwise {@link #TRANSITION_NONE}
+	 */
+	private int finish(long time, int transition) {
+		if (!tracking) {
+			return TRANSITION_NONE;
+		}
+		tracking = false;
+		transitionTime = time;
+		return transition;
+	}
+
+}
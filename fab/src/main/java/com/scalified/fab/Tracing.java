@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Emits the {@link Trace} sections around the <b>Action Button</b> lifecycle stages,
+ * so that their cost is visible within the systrace or Perfetto traces
+ * <p>
+ * Sections are emitted only if tracing is enabled and the target API is
+ * {@code JELLY_BEAN_MR2 (18)} and higher. While disabled, each stage costs
+ * a single static field check
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class Tracing {
+
+	/**
+	 * Determines whether the trace sections are emitted
+	 */
+	private static volatile boolean enabled;
+
+	/**
+	 * Prevents the {@link Tracing} from being instantiated
+	 */
+	private Tracing() {
+	}
+
+	/**
+	 * Checks whether the trace sections are emitted
+	 *
+	 * @return true if the trace sections are emitted, otherwise false
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables emitting of the trace sections
+	 * <p>
+	 * Tracing is disabled by default
+	 *
+	 * @param enabled true to emit the trace sections, otherwise false
+	 */
+	public static void setEnabled(boolean enabled) {
+		Tracing.enabled = enabled;
+	}
+
+	/**
+	 * Begins the trace section with the specified name if tracing is enabled
+	 *
+	 * @param name section name
+	 * @return true if the section was begun, otherwise false; must be passed to
+	 *         the {@link #endSection(boolean)}, so that the sections stay balanced
+	 *         when tracing is toggled in the middle of the section
+	 */
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+	static boolean beginSection(String name) {
+		if (enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+			Trace.beginSection(name);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Ends the trace section if it was begun
+	 *
+	 * @param begun value returned by the {@link #beginSection(String)}
+	 */
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+	static void endSection(boolean begun) {
+		if (begun) {
+			Trace.endSection();
+		}
+	}
+
+}
@@ -16,18 +16,22 @@
 
 package com.scalified.fab;
 
+import android.annotation.TargetApi;
+import android.graphics.Rect;
+import android.os.Build;
 import android.view.View;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * Used to invalidate the view
  * <p>
- * Contains invalidation options, which can be configured and then
- * used for view invalidation
+ * Collects the regions, which are required to be invalidated while drawing
+ * the current frame, and invalidates them on the next animation frame, so that
+ * the continuation frames are aligned with the display vsync. Invalidations of all
+ * of the views within the same window are run in a single {@link AnimationTicker} tick. Only the regions,
+ * which the effects touched, are invalidated, unless the entire view is required
+ * to be invalidated
  *
  * @author shell
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.1.0
  */
 class ViewInvalidator {
@@ -35,35 +39,80 @@ class ViewInvalidator {
 	/**
 	 * Logger
 	 */
-	private static final Logger LOGGER = LoggerFactory.getLogger(ViewInvalidator.class);
+	private static final Logger LOGGER = Logger.getLogger(ViewInvalidator.class);
 
 	/**
-	 * Indicates whether invalidation required
+	 * Indicates whether the entire view invalidation required
 	 */
 	private boolean invalidationRequired;
 
 	/**
-	 * Indicates whether delayed invalidation required
+	 * Region, which invalidation is required while drawing the current frame
+	 */
+	private final Rect dirtyRect = new Rect();
+
+	/**
+	 * Indicates whether the entire view invalidation is scheduled
+	 */
+	private boolean invalidationScheduled;
+
+	/**
+	 * Region, which invalidation is scheduled for the next animation frame
+	 */
+	private final Rect scheduledRect = new Rect();
+
+	/**
+	 * Indicates whether the {@link #invalidation} is posted
+	 */
+	private boolean invalidationPosted;
+
+	/**
+	 * Ticker, which the {@link #invalidation} is scheduled on, or null if the
+	 * {@link #invalidation} is posted to the view
 	 */
-	private boolean invalidationDelayedRequired;
+	private AnimationTicker ticker;
 
 	/**
-	 * Delay time in ms used for delayed invalidation
+	 * Invalidates the scheduled region of the view on the next animation frame
 	 */
-	private long invalidationDelay;
+	private final Runnable invalidation = new Runnable() {
+		@Override
+		public void run() {
+			invalidationPosted = false;
+			ticker = null;
+			wakeupTracker.onWakeup();
+			if (invalidationScheduled) {
+				view.invalidate();
+			} else {
+				view.invalidate(scheduledRect);
+			}
+			invalidationScheduled = false;
+			scheduledRect.setEmpty();
+			DiagnosticLog.record(DiagnosticLog.EVENT_INVALIDATION_PERFORMED, view);
+			LOGGER.trace("Called view invalidation");
+		}
+	};
 
 	/**
 	 * A view to invalidate
 	 */
 	private final View view;
 
+	/**
+	 * Tracker, which accounts the wakeups caused by the scheduled invalidations
+	 */
+	private final WakeupTracker wakeupTracker;
+
 	/**
 	 * Creates the {@link ViewInvalidator} instance
 	 *
 	 * @param view view to be invalidate
+	 * @param wakeupTracker tracker, which accounts the wakeups caused by the
+	 *                      scheduled invalidations
 	 */
-	ViewInvalidator(View view) {
+	ViewInvalidator(View view, WakeupTracker wakeupTracker) {
 		this.view = view;
+		this.wakeupTracker = wakeupTracker;
 	}
 
 	/**
@@ -72,12 +121,11 @@ class ViewInvalidator {
 	 * @return true if invalidation required, otherwise false
 	 */
 	boolean isInvalidationRequired() {
-		return invalidationRequired;
+		return invalidationRequired || !dirtyRect.isEmpty();
 	}
 
 	/**
-	 * Sets that invalidation is required
-	 *
+	 * Sets that the entire view invalidation is required
 	 */
 	void requireInvalidation() {
 		this.invalidationRequired = true;
@@ -85,53 +133,86 @@ class ViewInvalidator {
 	}
 
 	/**
-	 * Returns whether delayed invalidation required
+	 * Sets that the specified region invalidation is required
+	 * <p>
+	 * The region is rounded out to the whole pixels and united with the
+	 * regions, which are already required to be invalidated
 	 *
-	 * @return true if delayed invalidation required, otherwise false
-	 */
-	boolean isInvalidationDelayedRequired() {
-		return invalidationDelayedRequired;
-	}
-
-	/**
-	 * Sets that delayed invalidation required
+	 * @param left X-axis coordinate of the region left edge
+	 * @param top Y-axis coordinate of the region top edge
+	 * @param right X-axis coordinate of the region right edge
+	 * @param bottom Y-axis coordinate of the region bottom edge
 	 */
-	void requireDelayedInvalidation() {
-		this.invalidationDelayedRequired = true;
-		LOGGER.trace("Set delayed invalidation required");
+	void requireInvalidation(float left, float top, float right, float bottom) {
+		dirtyRect.union((int) Math.floor(left), (int) Math.floor(top),
+				(int) Math.ceil(right), (int) Math.ceil(bottom));
+		LOGGER.trace("Set region invalidation required");
 	}
 
 	/**
-	 * Returns the invalidation delay time in ms used for delayed invalidation
+	 * Schedules the invalidation of the required regions on the next animation
+	 * frame and resets the current invalidator configuration
+	 * <p>
+	 * Regions, which are required while the invalidation is already scheduled,
+	 * are united with the scheduled ones
 	 *
-	 * @return invalidation delay time in ms used for delayed invalidation
+	 * @return true if the invalidation was required, otherwise false
 	 */
-	long getInvalidationDelay() {
-		return invalidationDelay;
+	boolean invalidate() {
+		boolean required = isInvalidationRequired();
+		if (required) {
+			invalidationScheduled |= invalidationRequired;
+			scheduledRect.union(dirtyRect);
+			if (!invalidationPosted) {
+				invalidationPosted = true;
+				postOnAnimation();
+			}
+			if (invalidationRequired) {
+				DiagnosticLog.record(DiagnosticLog.EVENT_INVALIDATION_SCHEDULED, view);
+			} else {
+				DiagnosticLog.record(DiagnosticLog.EVENT_INVALIDATION_SCHEDULED, view,
+						dirtyRect.left, dirtyRect.top, dirtyRect.right, dirtyRect.bottom);
+			}
+			LOGGER.trace("Scheduled view invalidation");
+		}
+		reset();
+		return required;
 	}
 
 	/**
-	 * Sets the invalidation delay time used for delayed invalidation
-	 *
-	 * @param invalidationDelay invalidation delay time in ms
+	 * Cancels the scheduled invalidation
+	 * <p>
+	 * Must be called when the view is detached from the window
 	 */
-	void setInvalidationDelay(long invalidationDelay) {
-		this.invalidationDelay = invalidationDelay;
+	void cancel() {
+		if (ticker != null) {
+			ticker.cancel(invalidation);
+			ticker = null;
+		}
+		view.removeCallbacks(invalidation);
+		invalidationPosted = false;
+		invalidationScheduled = false;
+		scheduledRect.setEmpty();
+		reset();
+		LOGGER.trace("Cancelled the scheduled view invalidation");
 	}
 
 	/**
-	 * Invalidates the view based on the current invalidator configuration
+	 * Schedules the {@link #invalidation} on the {@link AnimationTicker} of the view
+	 * window, so that it is run on the next animation frame together with the
+	 * invalidations of the other views
+	 * <p>
+	 * The next message loop iteration is used instead if target API is lower
+	 * than {@code JELLY_BEAN (16)}
 	 */
-	void invalidate() {
-		if (isInvalidationRequired()) {
-			view.postInvalidate();
-			LOGGER.trace("Called view invalidation");
-		}
-		if (isInvalidationDelayedRequired()) {
-			view.postInvalidateDelayed(getInvalidationDelay());
-			LOGGER.trace("Called view delayed invalidation. Delay time is: {}", getInvalidationDelay());
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private void postOnAnimation() {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			ticker = AnimationTicker.forView(view);
+			ticker.schedule(invalidation);
+		} else {
+			view.post(invalidation);
 		}
-		reset();
 	}
 
 	/**
@@ -139,8 +220,7 @@ class ViewInvalidator {
 	 */
 	private void reset() {
 		invalidationRequired = false;
-		invalidationDelayedRequired = false;
-		setInvalidationDelay(0L);
+		dirtyRect.setEmpty();
 		LOGGER.trace("Reset the view invalidator configuration");
 	}
 
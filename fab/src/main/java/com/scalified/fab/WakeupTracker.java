@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.View;
+
+/**
+ * Accounts the frames and the UI thread wakeups, which the <b>Action Button</b>
+ * causes itself, so that the <b>Action Button</b> is guaranteed to stop waking
+ * the UI thread once the interaction ends
+ * <p>
+ * Frames and wakeups are counted per interaction, which starts with the press.
+ * A wakeup is the scheduled invalidation being run. Invalidations, which are
+ * scheduled while none of the effects is in progress, and wakeups, which happen
+ * while the <b>Action Button</b> is hidden or detached from the window, are
+ * flagged as violations
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+final class WakeupTracker {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(WakeupTracker.class);
+
+	/**
+	 * <b>Action Button</b>, which the wakeups are accounted for
+	 */
+	private final View view;
+
+	/**
+	 * Number of the interactions
+	 */
+	private int interactionCount;
+
+	/**
+	 * Number of the frames drawn since the last interaction started
+	 */
+	private int interactionFrameCount;
+
+	/**
+	 * Number of the wakeups since the last interaction started
+	 */
+	private int interactionWakeupCount;
+
+	/**
+	 * Number of the invalidations scheduled while none of the effects was in progress
+	 */
+	private int idleInvalidationCount;
+
+	/**
+	 * Number of the wakeups while the <b>Action Button</b> was hidden
+	 */
+	private int hiddenWakeupCount;
+
+	/**
+	 * Number of the wakeups while the <b>Action Button</b> was detached from the window
+	 */
+	private int detachedWakeupCount;
+
+	/**
+	 * Creates the {@link WakeupTracker} instance
+	 *
+	 * @param view <b>Action Button</b>, which the wakeups are accounted for
+	 */
+	WakeupTracker(View view) {
+		this.view = view;
+	}
+
+	/**
+	 * Starts accounting the next interaction
+	 */
+	void onInteraction() {
+		interactionCount++;
+		interactionFrameCount = 0;
+		interactionWakeupCount = 0;
+	}
+
+	/**
+	 * Accounts the drawn frame
+	 */
+	void onFrame() {
+		interactionFrameCount++;
+	}
+
+	/**
+	 * Accounts the invalidation scheduled for the next frame
+	 *
+	 * @param effectsInProgress true if any of the effects was in progress within
+	 *                          the current frame, otherwise false
+	 */
+	void onInvalidationScheduled(boolean effectsInProgress) {
+		if (!effectsInProgress) {
+			idleInvalidationCount++;
+			DiagnosticLog.record(DiagnosticLog.EVENT_IDLE_WAKEUP, view);
+			LOGGER.trace("Action Button scheduled the invalidation while idle");
+		}
+	}
+
+	/**
+	 * Accounts the wakeup caused by the scheduled invalidation
+	 */
+	void onWakeup() {
+		interactionWakeupCount++;
+		if (view.getWindowToken() == null) {
+			detachedWakeupCount++;
+			DiagnosticLog.record(DiagnosticLog.EVENT_IDLE_WAKEUP, view);
+			LOGGER.trace("Action Button woke up the UI thread while detached");
+		} else if (!view.isShown()) {
+			hiddenWakeupCount++;
+			DiagnosticLog.record(DiagnosticLog.EVENT_IDLE_WAKEUP, view);
+			LOGGER.trace("Action Button woke up the UI thread while hidden");
+		}
+	}
+
+	/**
+	 * Returns the number of the interactions
+	 *
+	 * @return number of the interactions
+	 */
+	int getInteractionCount() {
+		return interactionCount;
+	}
+
+	/**
+	 * Returns the number of the frames drawn since the last interaction started
+	 *
+	 * @return number of the frames drawn since the last interaction started
+	 */
+	int getInteractionFrameCount() {
+		return interactionFrameCount;
+	}
+
+	/**
+	 * Returns the number of the wakeups since the last interaction started
+	 *
+	 * @return number of the wakeups since the last interaction started
+	 */
+	int getInteractionWakeupCount() {
+		return interactionWakeupCount;
+	}
+
+	/**
+	 * Returns the number of the invalidations scheduled while none of the effects
+	 * was in progress
+	 *
+	 * @return number of the invalidations scheduled while idle
+	 */
+	int getIdleInvalidationCount() {
+		return idleInvalidationCount;
+	}
+
+	/**
+	 * Returns the number of the wakeups while the <b>Action Button</b> was hidden
+	 *
+	 * @return number of the wakeups while hidden
+	 */
+	int getHiddenWakeupCount() {
+		return hiddenWakeupCount;
+	}
+
+	/**
+	 * Returns the number of the wakeups while the <b>Action Button</b> was detached
+	 *
+	 * @return number of the wakeups while detached
+	 */
+	int getDetachedWakeupCount() {
+		return detachedWakeupCount;
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.google.monitoring.runtime.instrumentation.AllocationRecorder;
+import com.google.monitoring.runtime.instrumentation.Sampler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the <b>Action Button</b> draw and touch paths don't allocate
+ * <p>
+ * Allocations are recorded by the allocation instrumenting agent, which is attached
+ * to the unit tests JVM. Only the allocations, which are made by the library code
+ * on the test thread, are taken into account, so that the allocations of the
+ * framework and Robolectric shadows are ignored
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ActionButtonAllocationTest {
+
+	/**
+	 * Number of cycles, which are run before recording, so that the lazily
+	 * created objects are created
+	 */
+	private static final int WARM_UP_CYCLES_COUNT = 3;
+
+	/**
+	 * Number of recorded cycles
+	 */
+	private static final int RECORDED_CYCLES_COUNT = 10;
+
+	/**
+	 * Duration of the single frame in milliseconds
+	 */
+	private static final long FRAME_DURATION_MS = 16L;
+
+	/**
+	 * Number of frames drawn while the <b>Action Button</b> is pressed and released
+	 */
+	private static final int FRAMES_COUNT = 5;
+
+	private final LibraryAllocationSampler sampler = new LibraryAllocationSampler();
+
+	private ActionButton actionButton;
+
+	private Canvas canvas;
+
+	@Before
+	public void setUp() {
+		actionButton = new ActionButton(RuntimeEnvironment.application);
+		actionButton.setRippleEffectEnabled(true);
+		int measureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+		actionButton.measure(measureSpec, measureSpec);
+		actionButton.layout(0, 0, actionButton.getMeasuredWidth(), actionButton.getMeasuredHeight());
+		canvas = new Canvas(Bitmap.createBitmap(actionButton.getMeasuredWidth(),
+				actionButton.getMeasuredHeight(), Bitmap.Config.ARGB_8888));
+		AllocationRecorder.addSampler(sampler);
+	}
+
+	@After
+	public void tearDown() {
+		AllocationRecorder.removeSampler(sampler);
+	}
+
+	@Test
+	public void testDrawAndTouchCycleDoesNotAllocate() throws InterruptedException {
+		assertCycleDoesNotAllocate();
+	}
+
+	@Test
+	public void testDrawAndTouchCycleDoesNotAllocateWithGradientShadow() throws InterruptedException {
+		actionButton.setShadowRenderer(ActionButton.ShadowRenderer.GRADIENT);
+		assertCycleDoesNotAllocate();
+	}
+
+	@Test
+	public void testDrawAndTouchCycleDoesNotAllocateWithoutShadowResponsiveEffect() throws InterruptedException {
+		actionButton.setShadowResponsiveEffectEnabled(false);
+		assertCycleDoesNotAllocate();
+	}
+
+	private void assertCycleDoesNotAllocate() throws InterruptedException {
+		for (int i = 0; i < WARM_UP_CYCLES_COUNT; i++) {
+			runCycle(false);
+		}
+		awaitShadowMasks();
+		for (int i = 0; i < RECORDED_CYCLES_COUNT; i++) {
+			runCycle(true);
+		}
+		assertTrue("Draw and touch cycle allocated: " + sampler.allocations, sampler.allocations.isEmpty());
+	}
+
+	/**
+	 * Runs the cycles until all of the shadow masks, which the cycle draws,
+	 * are rendered, so that the background rendering doesn't complete while
+	 * recording and the recorded cycles only hit the {@link ShadowCache}
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the rendering
+	 */
+	private void awaitShadowMasks() throws InterruptedException {
+		int missCount;
+		do {
+			missCount = ShadowCache.getMissCount();
+			ShadowCache.awaitPendingRenders();
+			runCycle(false);
+		} while (ShadowCache.getMissCount() != missCount);
+	}
+
+	/**
+	 * Presses the <b>Action Button</b> in its center, draws the pressed frames, releases
+	 * it and draws the released frames until the effects finish
+	 *
+	 * @param recorded true to record the allocations made while running, otherwise false
+	 */
+	private void runCycle(boolean recorded) {
+		float x = actionButton.calculateCenterX();
+		float y = actionButton.calculateCenterY();
+		long downTime = SystemClock.uptimeMillis();
+		MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0);
+		MotionEvent up = MotionEvent.obtain(downTime, downTime + FRAME_DURATION_MS * FRAMES_COUNT,
+				MotionEvent.ACTION_UP, x, y, 0);
+		sampler.recording = recorded;
+		actionButton.onTouchEvent(down);
+		drawFrames(FRAMES_COUNT);
+		actionButton.onTouchEvent(up);
+		drawFrames(FRAMES_COUNT * 10);
+		sampler.recording = false;
+		down.recycle();
+		up.recycle();
+	}
+
+	private void drawFrames(int count) {
+		for (int i = 0; i < count; i++) {
+			actionButton.draw(canvas);
+			ShadowLooper.idleMainLooper(FRAME_DURATION_MS);
+		}
+	}
+
+	/**
+	 * Records the allocations, which are made by the library code on the test thread
+	 * <p>
+	 * An allocation is attributed to the library if the nearest caller outside of the
+	 * Java runtime belongs to the library, so that the boxing and the collections
+	 * growth caused by the library are recorded as well
+	 */
+	private static final class LibraryAllocationSampler implements Sampler {
+
+		private static final String LIBRARY_PACKAGE = "com.scalified.fab.";
+
+		private static final String RECORDER_CLASS = AllocationRecorder.class.getName();
+
+		private final Thread thread = Thread.currentThread();
+
+		private final List<String> allocations = new ArrayList<>();
+
+		private volatile boolean recording;
+
+		@Override
+		public void sampleAllocation(int count, String desc, Object newObj, long size) {
+			if (!recording || Thread.currentThread() != thread) {
+				return;
+			}
+			recording = false;
+			try {
+				StackTraceElement site = findLibraryAllocationSite(new Throwable().getStackTrace());
+				if (site != null) {
+					allocations.add(desc + " at " + site);
+				}
+			} finally {
+				recording = true;
+			}
+		}
+
+		private static StackTraceElement findLibraryAllocationSite(StackTraceElement[] stackTrace) {
+			int index = 0;
+			while (index < stackTrace.length && !stackTrace[index].getClassName().equals(RECORDER_CLASS)) {
+				index++;
+			}
+			while (index < stackTrace.length && isRuntimeFrame(stackTrace[index])) {
+				index++;
+			}
+			if (index < stackTrace.length) {
+				String className = stackTrace[index].getClassName();
+				if (className.startsWith(LIBRARY_PACKAGE)
+						&& !className.startsWith(ActionButtonAllocationTest.class.getName())) {
+					return stackTrace[index];
+				}
+			}
+			return null;
+		}
+
+		private static boolean isRuntimeFrame(StackTraceElement element) {
+			String className = element.getClassName();
+			return className.equals(RECORDER_CLASS) || className.startsWith("java.")
+					|| className.startsWith("javax.") || className.startsWith("sun.")
+					|| className.startsWith("jdk.");
+		}
+
+	}
+
+}
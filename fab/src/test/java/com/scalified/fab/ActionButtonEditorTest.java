@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Verifies that the <b>Action Button</b> setters skip the unchanged values and
+ * that the {@link ActionButton.Editor} keeps its values pending until applied
+ * and then applies the whole batch with at most one layout request and one
+ * invalidation
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ActionButtonEditorTest {
+
+	private CountingActionButton actionButton;
+
+	@Before
+	public void setUp() {
+		actionButton = new CountingActionButton(RuntimeEnvironment.application);
+		actionButton.resetCounts();
+	}
+
+	@Test
+	public void testUnchangedValuesAreSkipped() {
+		actionButton.setButtonColor(actionButton.getButtonColor());
+		actionButton.setShadowColor(actionButton.getShadowColor());
+		actionButton.setShadowRenderer(actionButton.getShadowRenderer());
+		assertCounts(0, 0);
+	}
+
+	@Test
+	public void testSetterAppliesImmediately() {
+		actionButton.setButtonColor(Color.RED);
+		assertCounts(0, 1);
+		actionButton.setStrokeWidth(2.0f);
+		assertCounts(1, 1);
+	}
+
+	@Test
+	public void testEditorAppliesBatchOnce() {
+		ActionButton.Editor editor = actionButton.edit()
+				.setButtonColor(Color.RED)
+				.setShadowColor(Color.BLUE)
+				.setStrokeColor(Color.GREEN)
+				.setStrokeWidth(2.0f)
+				.setShadowRadius(5.0f);
+		assertCounts(0, 0);
+		editor.apply();
+		assertCounts(1, 1);
+		assertEquals(Color.RED, actionButton.getButtonColor());
+		assertEquals(Color.BLUE, actionButton.getShadowColor());
+	}
+
+	@Test
+	public void testEditorWithPaintOnlyChangesDoesNotRequestLayout() {
+		actionButton.edit()
+				.setButtonColor(Color.RED)
+				.setButtonColorPressed(Color.BLUE)
+				.setShadowColor(Color.GREEN)
+				.apply();
+		assertCounts(0, 1);
+	}
+
+	@Test
+	public void testEditorWithUnchangedValuesDoesNothing() {
+		actionButton.edit()
+				.setButtonColor(actionButton.getButtonColor())
+				.setShadowColor(actionButton.getShadowColor())
+				.apply();
+		assertCounts(0, 0);
+	}
+
+	@Test
+	public void testApplyingTwiceAppliesOnce() {
+		ActionButton.Editor editor = actionButton.edit().setButtonColor(Color.RED);
+		editor.apply();
+		editor.apply();
+		assertCounts(0, 1);
+	}
+
+	@Test
+	public void testEditorValuesArePendingUntilApplied() {
+		int buttonColor = actionButton.getButtonColor();
+		float strokeWidth = actionButton.getStrokeWidth();
+		ActionButton.Editor editor = actionButton.edit()
+				.setButtonColor(Color.RED)
+				.setStrokeWidth(2.0f);
+		assertEquals(buttonColor, actionButton.getButtonColor());
+		assertEquals(strokeWidth, actionButton.getStrokeWidth(), 0.0f);
+		editor.apply();
+		assertEquals(Color.RED, actionButton.getButtonColor());
+		assertNotEquals(strokeWidth, actionButton.getStrokeWidth(), 0.0f);
+	}
+
+	@Test
+	public void testSetterDoesNotApplyPendingEditorValues() {
+		float strokeWidth = actionButton.getStrokeWidth();
+		ActionButton.Editor editor = actionButton.edit().setStrokeWidth(2.0f);
+		actionButton.setButtonColor(Color.RED);
+		assertCounts(0, 1);
+		assertEquals(strokeWidth, actionButton.getStrokeWidth(), 0.0f);
+		editor.apply();
+		assertCounts(1, 1);
+	}
+
+	@Test
+	public void testAbandonedEditHasNoEffect() {
+		int buttonColor = actionButton.getButtonColor();
+		actionButton.edit().setButtonColor(Color.RED);
+		actionButton.setShadowColor(Color.BLUE);
+		assertCounts(0, 1);
+		actionButton.setStrokeWidth(2.0f);
+		assertCounts(1, 1);
+		assertEquals(buttonColor, actionButton.getButtonColor());
+	}
+
+	@Test
+	public void testNewEditDropsAbandonedValues() {
+		int buttonColor = actionButton.getButtonColor();
+		actionButton.edit().setButtonColor(Color.RED);
+		actionButton.edit().setShadowColor(Color.BLUE).apply();
+		assertCounts(0, 1);
+		assertEquals(buttonColor, actionButton.getButtonColor());
+		assertEquals(Color.BLUE, actionButton.getShadowColor());
+	}
+
+	@Test
+	public void testLatestImageValueIsApplied() {
+		ColorDrawable image = new ColorDrawable(Color.RED);
+		actionButton.edit()
+				.setImageResource(android.R.drawable.ic_input_add)
+				.setImageDrawable(image)
+				.apply();
+		assertSame(image, actionButton.getImage());
+	}
+
+	private void assertCounts(int layoutRequestCount, int invalidationCount) {
+		assertEquals("Unexpected number of layout requests", layoutRequestCount, actionButton.layoutRequestCount);
+		assertEquals("Unexpected number of invalidations", invalidationCount, actionButton.invalidationCount);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that the <b>Action Button</b> is rendered on the software layer
+ * only while the shadow is drawn with the shadow layer
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ActionButtonLayerTypeTest {
+
+	private ActionButton actionButton;
+
+	@Before
+	public void setUp() {
+		actionButton = new ActionButton(RuntimeEnvironment.application);
+	}
+
+	@Test
+	public void testShadowResponsiveEffectDoesNotUseSoftwareLayer() {
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+	}
+
+	@Test
+	public void testDisablingShadowResponsiveEffectUsesSoftwareLayer() {
+		actionButton.setShadowResponsiveEffectEnabled(false);
+		assertEquals(View.LAYER_TYPE_SOFTWARE, actionButton.getLayerType());
+		actionButton.setShadowResponsiveEffectEnabled(true);
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+	}
+
+	@Test
+	public void testGradientRendererDoesNotUseSoftwareLayer() {
+		actionButton.setShadowResponsiveEffectEnabled(false);
+		actionButton.setShadowRenderer(ActionButton.ShadowRenderer.GRADIENT);
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+	}
+
+	@Test
+	public void testHardwareRenderingDoesNotUseSoftwareLayer() {
+		actionButton.setShadowResponsiveEffectEnabled(false);
+		actionButton.setHardwareRenderingEnabled(true);
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+	}
+
+	@Test
+	public void testButtonWithoutShadowDoesNotUseSoftwareLayer() {
+		actionButton.setShadowResponsiveEffectEnabled(false);
+		actionButton.setShadowRadius(0.0f);
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+		actionButton.setShadowRadius(4.0f);
+		assertEquals(View.LAYER_TYPE_SOFTWARE, actionButton.getLayerType());
+	}
+
+	@Test
+	public void testEditorReinitializesLayerTypeOnApply() {
+		ActionButton.Editor editor = actionButton.edit().setShadowResponsiveEffectEnabled(false);
+		assertEquals(View.LAYER_TYPE_NONE, actionButton.getLayerType());
+		editor.apply();
+		assertEquals(View.LAYER_TYPE_SOFTWARE, actionButton.getLayerType());
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.content.Context;
+
+/**
+ * <b>Action Button</b>, which counts the layout requests and the invalidations
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class CountingActionButton extends ActionButton {
+
+	int layoutRequestCount;
+
+	int invalidationCount;
+
+	CountingActionButton(Context context) {
+		super(context);
+	}
+
+	void resetCounts() {
+		layoutRequestCount = 0;
+		invalidationCount = 0;
+	}
+
+	@Override
+	public void requestLayout() {
+		layoutRequestCount++;
+		super.requestLayout();
+	}
+
+	@Override
+	public void invalidate() {
+		invalidationCount++;
+		super.invalidate();
+	}
+
+}
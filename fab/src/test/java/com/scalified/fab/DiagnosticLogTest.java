@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the {@link DiagnosticLog} dumps the latest events the oldest first
+ * once the ring buffer wraps around, records nothing while disabled and skips
+ * the records, which are being written
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class DiagnosticLogTest {
+
+	/**
+	 * Number of the records in the ring buffer
+	 */
+	private static final int CAPACITY = 1024;
+
+	/**
+	 * Pattern of the dumped event line, which captures the sequence number,
+	 * the event name and the first argument
+	 */
+	private static final Pattern EVENT_PATTERN =
+			Pattern.compile("^(\\d+) -?[\\d.]+ ms (\\w+) #[0-9a-f]{8} \\[(-?[\\d.]+), .*\\]$");
+
+	@After
+	public void tearDown() {
+		DiagnosticLog.setEnabled(true);
+	}
+
+	@Test
+	public void testDumpKeepsLatestEventsInOrderAfterWrapAround() {
+		int count = CAPACITY + CAPACITY / 2;
+		for (int i = 0; i < count; i++) {
+			record(i);
+		}
+		List<long[]> events = dump();
+		assertEquals(CAPACITY, events.size());
+		for (int i = 0; i < events.size(); i++) {
+			assertEquals(count - CAPACITY + i, events.get(i)[1]);
+			if (i > 0) {
+				assertEquals(events.get(i - 1)[0] + 1, events.get(i)[0]);
+			}
+		}
+	}
+
+	@Test
+	public void testDisabledLogRecordsNothing() {
+		record(1);
+		DiagnosticLog.setEnabled(false);
+		assertFalse(DiagnosticLog.isEnabled());
+		record(2);
+		DiagnosticLog.setEnabled(true);
+		record(3);
+		List<long[]> events = dump();
+		assertMarkers(events, 1, 3);
+		assertEquals(events.get(events.size() - 2)[0] + 1, events.get(events.size() - 1)[0]);
+	}
+
+	@Test
+	public void testDumpSkipsRecordBeingWritten() throws Exception {
+		record(1);
+		record(2);
+		record(3);
+		List<long[]> events = dump();
+		long sequence = events.get(events.size() - 2)[0];
+		int index = (int) (sequence & (CAPACITY - 1));
+		AtomicLongArray sequences = getSequences();
+		assertTrue(sequences.compareAndSet(index, sequence + 1, 0L));
+		try {
+			assertMarkers(dump(), 1, 3);
+		} finally {
+			sequences.set(index, sequence + 1);
+		}
+		assertMarkers(dump(), 1, 2, 3);
+	}
+
+	private static void record(int marker) {
+		DiagnosticLog.record(DiagnosticLog.EVENT_DRAW, null, marker, 0.0f, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Dumps the log and parses the dumped {@code DRAW} events
+	 *
+	 * @return sequence number and first argument of each dumped event
+	 */
+	private static List<long[]> dump() {
+		StringWriter output = new StringWriter();
+		DiagnosticLog.dump(new PrintWriter(output));
+		List<long[]> events = new ArrayList<>();
+		for (String line : output.toString().split("\n")) {
+			Matcher matcher = EVENT_PATTERN.matcher(line.trim());
+			if (matcher.matches() && "DRAW".equals(matcher.group(2))) {
+				events.add(new long[]{Long.parseLong(matcher.group(1)), (long) Float.parseFloat(matcher.group(3))});
+			}
+		}
+		return events;
+	}
+
+	private static void assertMarkers(List<long[]> events, int... markers) {
+		assertTrue(events.size() >= markers.length);
+		List<long[]> latest = events.subList(events.size() - markers.length, events.size());
+		for (int i = 0; i < markers.length; i++) {
+			assertEquals(markers[i], latest.get(i)[1]);
+		}
+	}
+
+	private static AtomicLongArray getSequences() throws Exception {
+		Field field = DiagnosticLog.class.getDeclaredField("SEQUENCES");
+		field.setAccessible(true);
+		return (AtomicLongArray) field.get(null);
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Verifies that the <b>Action Button</b> with the fixed footprint only invalidates
+ * itself for the layout changes, which fit within the footprint, and is relayouted
+ * for the other ones
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class FixedFootprintTest {
+
+	/**
+	 * Fixed footprint in density-independent pixels, which fits the default
+	 * <b>Action Button</b> with the enlarged shadow
+	 */
+	private static final float FOOTPRINT = 150.0f;
+
+	private CountingActionButton actionButton;
+
+	@Before
+	public void setUp() {
+		actionButton = new CountingActionButton(RuntimeEnvironment.application);
+	}
+
+	@Test
+	public void testShadowChangeWithinFootprintOnlyInvalidates() {
+		layOut(FOOTPRINT);
+		int measuredWidth = actionButton.getMeasuredWidth();
+		actionButton.setShadowRadius(12.0f);
+		assertCounts(0, 1);
+		assertFalse(actionButton.isLayoutRequested());
+		assertEquals(measuredWidth, actionButton.getMeasuredWidth());
+	}
+
+	@Test
+	public void testStrokeChangeWithinFootprintOnlyInvalidates() {
+		layOut(FOOTPRINT);
+		actionButton.setStrokeWidth(2.0f);
+		assertCounts(0, 1);
+	}
+
+	@Test
+	public void testBatchWithinFootprintOnlyInvalidates() {
+		layOut(FOOTPRINT);
+		actionButton.edit()
+				.setShadowRadius(12.0f)
+				.setStrokeWidth(2.0f)
+				.setShadowXOffset(2.0f)
+				.apply();
+		assertCounts(0, 1);
+	}
+
+	@Test
+	public void testChangeBeyondFootprintRelayouts() {
+		layOut(FOOTPRINT);
+		actionButton.setSize(FOOTPRINT * 2.0f);
+		assertCounts(1, 0);
+	}
+
+	@Test
+	public void testFootprintChangeRelayouts() {
+		layOut(FOOTPRINT);
+		actionButton.setFixedFootprint(FOOTPRINT * 2.0f);
+		assertCounts(1, 0);
+	}
+
+	@Test
+	public void testChangeWithoutFootprintRelayouts() {
+		layOut(0.0f);
+		actionButton.setShadowRadius(12.0f);
+		assertCounts(1, 0);
+	}
+
+	@Test
+	public void testChangeWhileLayoutRequestedRelayouts() {
+		layOut(FOOTPRINT);
+		actionButton.requestLayout();
+		actionButton.resetCounts();
+		actionButton.setShadowRadius(12.0f);
+		assertCounts(1, 0);
+	}
+
+	/**
+	 * Sets the fixed footprint, measures and lays out the <b>Action Button</b>
+	 * and resets the counts
+	 *
+	 * @param footprint fixed footprint in density-independent pixels or 0 to
+	 *                  calculate the footprint from the content
+	 */
+	private void layOut(float footprint) {
+		actionButton.setFixedFootprint(footprint);
+		int measureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+		actionButton.measure(measureSpec, measureSpec);
+		actionButton.layout(0, 0, actionButton.getMeasuredWidth(), actionButton.getMeasuredHeight());
+		actionButton.resetCounts();
+	}
+
+	private void assertCounts(int layoutRequestCount, int invalidationCount) {
+		assertEquals("Unexpected number of layout requests", layoutRequestCount, actionButton.layoutRequestCount);
+		assertEquals("Unexpected number of invalidations", invalidationCount, actionButton.invalidationCount);
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the {@link ShadowCache} evicts the least recently used masks
+ * once the size budget is exceeded, counts the hits, misses and evictions,
+ * doesn't render the failed masks again and invalidates the views, which
+ * wait for the mask
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class ShadowCacheTest {
+
+	/**
+	 * Circle size in actual pixels, which gives the masks of about 1MB each,
+	 * so that the fifth mask exceeds the default 4MB budget
+	 */
+	private static final float CIRCLE_SIZE = 2008.0f;
+
+	/**
+	 * Shadow radiuses in actual pixels of the masks, which are rendered in turn.
+	 * None of them matches the masks generated at build time
+	 */
+	private static final float[] SHADOW_RADIUSES = {10.0f, 9.75f, 9.5f, 9.25f, 9.0f};
+
+	private int defaultMaxSize;
+
+	private int hitCount;
+
+	private int missCount;
+
+	private int evictionCount;
+
+	private CountingView view;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		ShadowCache.awaitPendingRenders();
+		ShadowCache.clear();
+		defaultMaxSize = ShadowCache.getMaxSize();
+		hitCount = ShadowCache.getHitCount();
+		missCount = ShadowCache.getMissCount();
+		evictionCount = ShadowCache.getEvictionCount();
+		view = new CountingView(RuntimeEnvironment.application, false);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		ShadowCache.awaitPendingRenders();
+		ShadowCache.setMaxSize(defaultMaxSize);
+		ShadowCache.clear();
+	}
+
+	@Test
+	public void testMasksFitWithinBudget() throws InterruptedException {
+		for (int i = 0; i < 4; i++) {
+			render(SHADOW_RADIUSES[i]);
+		}
+		assertTrue(ShadowCache.getSize() <= ShadowCache.getMaxSize());
+		assertTrue(ShadowCache.getSize() > ShadowCache.getMaxSize() * 3 / 4);
+		assertStats(0, 4, 0);
+		for (int i = 0; i < 4; i++) {
+			assertNotNull(get(SHADOW_RADIUSES[i]));
+		}
+		assertStats(4, 4, 0);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedMaskIsEvicted() throws InterruptedException {
+		for (int i = 0; i < 4; i++) {
+			render(SHADOW_RADIUSES[i]);
+		}
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		render(SHADOW_RADIUSES[4]);
+		assertStats(1, 5, 1);
+		assertTrue(ShadowCache.getSize() <= ShadowCache.getMaxSize());
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		assertNotNull(get(SHADOW_RADIUSES[2]));
+		assertNotNull(get(SHADOW_RADIUSES[3]));
+		assertNotNull(get(SHADOW_RADIUSES[4]));
+		assertStats(5, 5, 1);
+		assertNull(get(SHADOW_RADIUSES[1]));
+		assertStats(5, 6, 1);
+	}
+
+	@Test
+	public void testShrinkingBudgetEvictsInAccessOrder() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			render(SHADOW_RADIUSES[i]);
+		}
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		ShadowCache.setMaxSize(ShadowCache.getSize() - 1);
+		assertStats(1, 3, 1);
+		ShadowCache.setMaxSize(ShadowCache.getSize() - 1);
+		assertStats(1, 3, 2);
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		assertStats(2, 3, 2);
+		assertNull(get(SHADOW_RADIUSES[1]));
+		assertStats(2, 4, 2);
+	}
+
+	@Test
+	public void testCachedMaskIsShared() throws InterruptedException {
+		render(SHADOW_RADIUSES[0]);
+		CountingView otherView = new CountingView(RuntimeEnvironment.application, false);
+		assertSame(get(SHADOW_RADIUSES[0]), ShadowCache.get(CIRCLE_SIZE, SHADOW_RADIUSES[0], otherView));
+		assertStats(2, 1, 0);
+	}
+
+	@Test
+	public void testPendingViewsAreInvalidatedOnce() throws InterruptedException {
+		CountingView otherView = new CountingView(RuntimeEnvironment.application, false);
+		assertNull(get(SHADOW_RADIUSES[0]));
+		assertNull(ShadowCache.get(CIRCLE_SIZE, SHADOW_RADIUSES[0], otherView));
+		assertNull(get(SHADOW_RADIUSES[0]));
+		ShadowCache.awaitPendingRenders();
+		assertEquals(1, view.invalidationCount.get());
+		assertEquals(1, otherView.invalidationCount.get());
+		assertStats(0, 1, 0);
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		assertEquals(1, view.invalidationCount.get());
+	}
+
+	@Test
+	public void testFailedMaskIsNotRenderedAgain() throws InterruptedException {
+		CountingView failingView = new CountingView(RuntimeEnvironment.application, true);
+		assertNull(ShadowCache.get(CIRCLE_SIZE, SHADOW_RADIUSES[0], failingView));
+		ShadowCache.awaitPendingRenders();
+		assertTrue(ShadowCache.hasFailed(CIRCLE_SIZE, SHADOW_RADIUSES[0]));
+		assertEquals(1, failingView.invalidationCount.get());
+		assertEquals(0, ShadowCache.getSize());
+		assertNull(get(SHADOW_RADIUSES[0]));
+		ShadowCache.awaitPendingRenders();
+		assertEquals(0, view.invalidationCount.get());
+		assertStats(0, 1, 0);
+	}
+
+	@Test
+	public void testClearForgetsFailedMasks() throws InterruptedException {
+		CountingView failingView = new CountingView(RuntimeEnvironment.application, true);
+		assertNull(ShadowCache.get(CIRCLE_SIZE, SHADOW_RADIUSES[0], failingView));
+		ShadowCache.awaitPendingRenders();
+		ShadowCache.clear();
+		assertFalse(ShadowCache.hasFailed(CIRCLE_SIZE, SHADOW_RADIUSES[0]));
+		render(SHADOW_RADIUSES[0]);
+		assertNotNull(get(SHADOW_RADIUSES[0]));
+		assertStats(1, 2, 0);
+	}
+
+	private void render(float shadowRadius) throws InterruptedException {
+		assertNull(get(shadowRadius));
+		ShadowCache.awaitPendingRenders();
+	}
+
+	private Bitmap get(float shadowRadius) {
+		return ShadowCache.get(CIRCLE_SIZE, shadowRadius, view);
+	}
+
+	private void assertStats(int hits, int misses, int evictions) {
+		assertEquals("Unexpected number of hits", hits, ShadowCache.getHitCount() - hitCount);
+		assertEquals("Unexpected number of misses", misses, ShadowCache.getMissCount() - missCount);
+		assertEquals("Unexpected number of evictions", evictions, ShadowCache.getEvictionCount() - evictionCount);
+	}
+
+	/**
+	 * View, which counts the invalidations posted by the {@link ShadowCache}
+	 * <p>
+	 * The failing view has no resources, so that the mask requested for it
+	 * fails to render
+	 */
+	private static final class CountingView extends View {
+
+		private final AtomicInteger invalidationCount = new AtomicInteger();
+
+		private final boolean failing;
+
+		private CountingView(Context context, boolean failing) {
+			super(context);
+			this.failing = failing;
+		}
+
+		@Override
+		public Resources getResources() {
+			return failing ? null : super.getResources();
+		}
+
+		@Override
+		public void postInvalidate() {
+			invalidationCount.incrementAndGet();
+		}
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.util.AttributeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Verifies that the {@link StyleCache} reuses the resolved attributes of the
+ * identical XML tags and resolves them again once the attribute values or the
+ * style differ, the cache is cleared, disabled or the configuration changes
+ * <p>
+ * Runs with the library resources, so that the XML tags may declare the
+ * <b>Action Button</b> attributes
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, constants = BuildConfig.class)
+public class StyleCacheTest {
+
+	/**
+	 * Style, which the XML tags are declared with
+	 */
+	private static final String WIDGET_STYLE = "@android:style/Widget.Button";
+
+	/**
+	 * Style, which differs from the {@link #WIDGET_STYLE}
+	 */
+	private static final String OTHER_WIDGET_STYLE = "@android:style/Widget.Button.Small";
+
+	private Context context;
+
+	private int hitCount;
+
+	private int missCount;
+
+	@Before
+	public void setUp() {
+		context = RuntimeEnvironment.application;
+		StyleCache.setEnabled(true);
+		hitCount = StyleCache.getHitCount();
+		missCount = StyleCache.getMissCount();
+	}
+
+	@After
+	public void tearDown() {
+		StyleCache.setEnabled(true);
+	}
+
+	@Test
+	public void testSecondResolveHits() {
+		ActionButtonStyle style = resolve();
+		assertSame(style, resolve());
+		assertCounts(1, 1);
+	}
+
+	@Test
+	public void testClearDropsStyles() {
+		ActionButtonStyle style = resolve();
+		StyleCache.clear();
+		assertNotSame(style, resolve());
+		assertCounts(0, 2);
+	}
+
+	@Test
+	public void testDisabledCacheResolvesEachTime() {
+		StyleCache.setEnabled(false);
+		assertNotSame(resolve(), resolve());
+		assertCounts(0, 2);
+	}
+
+	@Test
+	public void testConfigurationChangeDropsStyles() {
+		ActionButtonStyle style = resolve();
+		Resources resources = context.getResources();
+		Configuration configuration = new Configuration(resources.getConfiguration());
+		configuration.fontScale = resources.getConfiguration().fontScale * 2.0f;
+		resources.updateConfiguration(configuration, resources.getDisplayMetrics());
+		ActionButtonStyle resolvedStyle = resolve();
+		assertNotSame(style, resolvedStyle);
+		assertSame(resolvedStyle, resolve());
+		assertCounts(1, 2);
+	}
+
+	@Test
+	public void testDifferentDefaultStylesDoNotShareSnapshot() {
+		ActionButtonStyle style = resolve();
+		ActionButtonStyle otherStyle = StyleCache.resolve(context, null, android.R.attr.buttonStyle, 0);
+		assertNotSame(style, otherStyle);
+		assertCounts(0, 2);
+	}
+
+	@Test
+	public void testIdenticalAttributesHit() {
+		ActionButtonStyle style = resolve(buildAttributes("#ff0000", WIDGET_STYLE));
+		assertSame(style, resolve(buildAttributes("#ff0000", WIDGET_STYLE)));
+		assertCounts(1, 1);
+	}
+
+	@Test
+	public void testDifferentButtonColorMisses() {
+		ActionButtonStyle style = resolve(buildAttributes("#ff0000", WIDGET_STYLE));
+		ActionButtonStyle otherStyle = resolve(buildAttributes("#00ff00", WIDGET_STYLE));
+		assertNotSame(style, otherStyle);
+		assertSame(otherStyle, resolve(buildAttributes("#00ff00", WIDGET_STYLE)));
+		assertCounts(1, 2);
+	}
+
+	@Test
+	public void testDifferentStyleMisses() {
+		ActionButtonStyle style = resolve(buildAttributes("#ff0000", WIDGET_STYLE));
+		ActionButtonStyle otherStyle = resolve(buildAttributes("#ff0000", OTHER_WIDGET_STYLE));
+		assertNotSame(style, otherStyle);
+		assertCounts(0, 2);
+	}
+
+	@Test
+	public void testLayoutParamsAreIgnored() {
+		ActionButtonStyle style = resolve(buildAttributes("#ff0000", WIDGET_STYLE));
+		AttributeSet attrs = Robolectric.buildAttributeSet()
+				.addAttribute(R.attr.button_color, "#ff0000")
+				.addAttribute(android.R.attr.layout_width, "wrap_content")
+				.addAttribute(android.R.attr.layout_height, "wrap_content")
+				.setStyleAttribute(WIDGET_STYLE)
+				.build();
+		assertSame(style, resolve(attrs));
+		assertCounts(1, 1);
+	}
+
+	private ActionButtonStyle resolve() {
+		return resolve(null);
+	}
+
+	private ActionButtonStyle resolve(AttributeSet attrs) {
+		return StyleCache.resolve(context, attrs, 0, 0);
+	}
+
+	private static AttributeSet buildAttributes(String buttonColor, String style) {
+		return Robolectric.buildAttributeSet()
+				.addAttribute(R.attr.button_color, buttonColor)
+				.setStyleAttribute(style)
+				.build();
+	}
+
+	private void assertCounts(int hits, int misses) {
+		assertEquals("Unexpected number of cache hits", hits, StyleCache.getHitCount() - hitCount);
+		assertEquals("Unexpected number of cache misses", misses, StyleCache.getMissCount() - missCount);
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the {@link TouchTracker} reports only the transitions between
+ * the pressed and the released states, ignores the movements within the touch
+ * slop and checks the batched historical samples
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class TouchTrackerTest {
+
+	private static final float TOUCH_SLOP = 10.0f;
+
+	private static final float CENTER_X = 100.0f;
+
+	private static final float CENTER_Y = 100.0f;
+
+	private static final float RADIUS = 50.0f;
+
+	/**
+	 * X-axis coordinate of the press point near the right edge of the main circle
+	 */
+	private static final float EDGE_X = CENTER_X + RADIUS - 5.0f;
+
+	private static final long DOWN_TIME = 1000L;
+
+	private TouchTracker touchTracker;
+
+	@Before
+	public void setUp() {
+		touchTracker = new TouchTracker(TOUCH_SLOP);
+	}
+
+	@Test
+	public void testDownInsideCirclePresses() {
+		assertEquals(TouchTracker.TRANSITION_PRESS, down(CENTER_X, CENTER_Y));
+		assertTrue(touchTracker.isTracking());
+		assertEquals(DOWN_TIME, touchTracker.getTransitionTime());
+	}
+
+	@Test
+	public void testDownOutsideCircleIsIgnored() {
+		assertEquals(TouchTracker.TRANSITION_NONE, down(0.0f, 0.0f));
+		assertFalse(touchTracker.isTracking());
+		assertEquals(TouchTracker.TRANSITION_NONE, move(DOWN_TIME + 10L, CENTER_X, CENTER_Y));
+		assertEquals(TouchTracker.TRANSITION_NONE, up(DOWN_TIME + 20L, CENTER_X, CENTER_Y));
+	}
+
+	@Test
+	public void testUpReleases() {
+		down(CENTER_X, CENTER_Y);
+		assertEquals(TouchTracker.TRANSITION_RELEASE, up(DOWN_TIME + 20L, CENTER_X, CENTER_Y));
+		assertFalse(touchTracker.isTracking());
+		assertEquals(DOWN_TIME + 20L, touchTracker.getTransitionTime());
+	}
+
+	@Test
+	public void testMovementWithinSlopIsIgnored() {
+		down(EDGE_X, CENTER_Y);
+		float x = EDGE_X + TOUCH_SLOP - 1.0f;
+		assertTrue("Sample must be outside the main circle", x > CENTER_X + RADIUS);
+		assertEquals(TouchTracker.TRANSITION_NONE, move(DOWN_TIME + 10L, x, CENTER_Y));
+		assertTrue(touchTracker.isTracking());
+	}
+
+	@Test
+	public void testMovementBeyondSlopOutsideCircleReleases() {
+		down(EDGE_X, CENTER_Y);
+		assertEquals(TouchTracker.TRANSITION_RELEASE, move(DOWN_TIME + 10L, EDGE_X + TOUCH_SLOP + 1.0f, CENTER_Y));
+		assertFalse(touchTracker.isTracking());
+		assertEquals(DOWN_TIME + 10L, touchTracker.getTransitionTime());
+	}
+
+	@Test
+	public void testMovementBeyondSlopInsideCircleIsIgnored() {
+		down(CENTER_X, CENTER_Y);
+		assertEquals(TouchTracker.TRANSITION_NONE, move(DOWN_TIME + 10L, CENTER_X + RADIUS / 2.0f, CENTER_Y));
+		assertTrue(touchTracker.isTracking());
+	}
+
+	@Test
+	public void testHistoricalSampleOutsideCircleReleases() {
+		down(EDGE_X, CENTER_Y);
+		MotionEvent event = MotionEvent.obtain(DOWN_TIME, DOWN_TIME + 10L, MotionEvent.ACTION_MOVE,
+				CENTER_X + RADIUS * 2.0f, CENTER_Y, 0);
+		event.addBatch(DOWN_TIME + 20L, CENTER_X, CENTER_Y, 1.0f, 1.0f, 0);
+		try {
+			assertEquals(1, event.getHistorySize());
+			assertEquals(TouchTracker.TRANSITION_RELEASE, onTouchEvent(event));
+			assertEquals("Transition time must be the time of the historical sample",
+					DOWN_TIME + 10L, touchTracker.getTransitionTime());
+		} finally {
+			event.recycle();
+		}
+	}
+
+	@Test
+	public void testCancelCancels() {
+		down(CENTER_X, CENTER_Y);
+		assertEquals(TouchTracker.TRANSITION_CANCEL, cancel(DOWN_TIME + 10L));
+		assertFalse(touchTracker.isTracking());
+		assertEquals(DOWN_TIME + 10L, touchTracker.getTransitionTime());
+	}
+
+	@Test
+	public void testEventsAfterFinishAreIgnored() {
+		down(CENTER_X, CENTER_Y);
+		cancel(DOWN_TIME + 10L);
+		assertEquals(TouchTracker.TRANSITION_NONE, cancel(DOWN_TIME + 20L));
+		assertEquals(TouchTracker.TRANSITION_NONE, up(DOWN_TIME + 30L, CENTER_X, CENTER_Y));
+		assertEquals(DOWN_TIME + 10L, touchTracker.getTransitionTime());
+	}
+
+	@Test
+	public void testTrackerIsReusedForNextGesture() {
+		down(EDGE_X, CENTER_Y);
+		move(DOWN_TIME + 10L, EDGE_X + TOUCH_SLOP + 1.0f, CENTER_Y);
+		assertEquals(TouchTracker.TRANSITION_PRESS, down(EDGE_X, CENTER_Y));
+		assertEquals("Slop must be reset for the next gesture",
+				TouchTracker.TRANSITION_NONE, move(DOWN_TIME + 10L, EDGE_X + TOUCH_SLOP - 1.0f, CENTER_Y));
+	}
+
+	private int down(float x, float y) {
+		return dispatch(DOWN_TIME, MotionEvent.ACTION_DOWN, x, y);
+	}
+
+	private int move(long time, float x, float y) {
+		return dispatch(time, MotionEvent.ACTION_MOVE, x, y);
+	}
+
+	private int up(long time, float x, float y) {
+		return dispatch(time, MotionEvent.ACTION_UP, x, y);
+	}
+
+	private int cancel(long time) {
+		return dispatch(time, MotionEvent.ACTION_CANCEL, CENTER_X, CENTER_Y);
+	}
+
+	private int dispatch(long time, int action, float x, float y) {
+		MotionEvent event = MotionEvent.obtain(DOWN_TIME, time, action, x, y, 0);
+		try {
+			return onTouchEvent(event);
+		} finally {
+			event.recycle();
+		}
+	}
+
+	private int onTouchEvent(MotionEvent event) {
+		return touchTracker.onTouchEvent(event, CENTER_X, CENTER_Y, RADIUS);
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Scalified <http://www.scalified.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scalified.fab;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the <b>Action Button</b> stops waking the UI thread once the
+ * interaction ends and doesn't wake it while hidden or detached
+ * <p>
+ * Frames are drawn only after the <b>Action Button</b> wakes up the UI thread,
+ * the same way the invalidated view is redrawn on the device
+ *
+ * @author shell
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21, manifest = Config.NONE)
+public class WakeupTrackerTest {
+
+	/**
+	 * Duration of the single frame in milliseconds
+	 */
+	private static final long FRAME_DURATION_MS = 16L;
+
+	/**
+	 * Maximum number of frames, which the single interaction may take
+	 */
+	private static final int MAX_INTERACTION_FRAMES_COUNT = 120;
+
+	/**
+	 * Number of frames, which the idle <b>Action Button</b> is observed for
+	 */
+	private static final int IDLE_FRAMES_COUNT = 30;
+
+	private ActionButton actionButton;
+
+	private WakeupTracker wakeupTracker;
+
+	private Canvas canvas;
+
+	@Before
+	public void setUp() {
+		Activity activity = Robolectric.buildActivity(Activity.class).create().start().resume().visible().get();
+		actionButton = new ActionButton(activity);
+		actionButton.setRippleEffectEnabled(true);
+		activity.setContentView(actionButton);
+		int measureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+		actionButton.measure(measureSpec, measureSpec);
+		actionButton.layout(0, 0, actionButton.getMeasuredWidth(), actionButton.getMeasuredHeight());
+		canvas = new Canvas(Bitmap.createBitmap(actionButton.getMeasuredWidth(),
+				actionButton.getMeasuredHeight(), Bitmap.Config.ARGB_8888));
+		wakeupTracker = actionButton.getWakeupTracker();
+		actionButton.draw(canvas);
+		runUntilIdle();
+	}
+
+	@Test
+	public void testInteractionSettles() {
+		click();
+		int frames = runUntilIdle();
+		assertTrue("Interaction didn't settle within " + MAX_INTERACTION_FRAMES_COUNT + " frames",
+				frames < MAX_INTERACTION_FRAMES_COUNT);
+		assertEquals(1, wakeupTracker.getInteractionCount());
+		assertTrue(wakeupTracker.getInteractionFrameCount() > 0);
+		assertTrue(wakeupTracker.getInteractionWakeupCount() > 0);
+		assertNoWakeupsWhileIdle();
+		assertNoViolations();
+	}
+
+	@Test
+	public void testRepeatedInteractionsSettle() {
+		for (int i = 0; i < 3; i++) {
+			click();
+			assertTrue(runUntilIdle() < MAX_INTERACTION_FRAMES_COUNT);
+		}
+		assertEquals(3, wakeupTracker.getInteractionCount());
+		assertNoWakeupsWhileIdle();
+		assertNoViolations();
+	}
+
+	@Test
+	public void testInvisibleButtonDoesNotWakeUp() {
+		assertHiddenButtonDoesNotWakeUp(View.INVISIBLE);
+	}
+
+	@Test
+	public void testGoneButtonDoesNotWakeUp() {
+		assertHiddenButtonDoesNotWakeUp(View.GONE);
+	}
+
+	@Test
+	public void testDetachedButtonDoesNotWakeUp() {
+		press();
+		actionButton.draw(canvas);
+		((ViewGroup) actionButton.getParent()).removeView(actionButton);
+		assertNoWakeupsWhileIdle();
+		assertNoViolations();
+	}
+
+	@Test
+	public void testInvalidationWhileIdleIsFlagged() {
+		actionButton.getInvalidator().requireInvalidation();
+		actionButton.draw(canvas);
+		assertEquals(1, wakeupTracker.getIdleInvalidationCount());
+	}
+
+	@Test
+	public void testWakeupWhileHiddenIsFlagged() {
+		actionButton.setVisibility(View.GONE);
+		actionButton.getInvalidator().requireInvalidation();
+		actionButton.getInvalidator().invalidate();
+		ShadowLooper.idleMainLooper(FRAME_DURATION_MS);
+		assertEquals(1, wakeupTracker.getHiddenWakeupCount());
+	}
+
+	private void assertHiddenButtonDoesNotWakeUp(int visibility) {
+		press();
+		actionButton.draw(canvas);
+		actionButton.setVisibility(visibility);
+		assertNoWakeupsWhileIdle();
+		assertNoViolations();
+	}
+
+	private void assertNoWakeupsWhileIdle() {
+		int wakeups = wakeupTracker.getInteractionWakeupCount();
+		for (int i = 0; i < IDLE_FRAMES_COUNT; i++) {
+			ShadowLooper.idleMainLooper(FRAME_DURATION_MS);
+		}
+		assertEquals("Action Button woke up the UI thread while idle",
+				wakeups, wakeupTracker.getInteractionWakeupCount());
+	}
+
+	private void assertNoViolations() {
+		assertEquals(0, wakeupTracker.getIdleInvalidationCount());
+		assertEquals(0, wakeupTracker.getHiddenWakeupCount());
+		assertEquals(0, wakeupTracker.getDetachedWakeupCount());
+	}
+
+	private void click() {
+		press();
+		actionButton.draw(canvas);
+		ShadowLooper.idleMainLooper(FRAME_DURATION_MS * 5);
+		actionButton.draw(canvas);
+		dispatchTouchEvent(MotionEvent.ACTION_UP);
+		actionButton.draw(canvas);
+	}
+
+	private void press() {
+		dispatchTouchEvent(MotionEvent.ACTION_DOWN);
+	}
+
+	private void dispatchTouchEvent(int action) {
+		long time = SystemClock.uptimeMillis();
+		MotionEvent event = MotionEvent.obtain(time, time, action,
+				actionButton.calculateCenterX(), actionButton.calculateCenterY(), 0);
+		actionButton.onTouchEvent(event);
+		event.recycle();
+	}
+
+	/**
+	 * Advances the frames, drawing the <b>Action Button</b> after each wakeup,
+	 * until a frame passes without the wakeup
+	 *
+	 * @return number of the drawn frames
+	 */
+	private int runUntilIdle() {
+		int frames = 0;
+		while (frames < MAX_INTERACTION_FRAMES_COUNT) {
+			int wakeups = wakeupTracker.getInteractionWakeupCount();
+			ShadowLooper.idleMainLooper(FRAME_DURATION_MS);
+			if (wakeupTracker.getInteractionWakeupCount() == wakeups) {
+				break;
+			}
+			actionButton.draw(canvas);
+			frames++;
+		}
+		return frames;
+	}
+
+}